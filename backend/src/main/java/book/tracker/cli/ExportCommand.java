@@ -0,0 +1,69 @@
+package book.tracker.cli;
+
+import book.tracker.service.BookService;
+import book.tracker.service.ExportFormat;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.ExitCodeGenerator;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+
+/**
+ * Exports the catalog to a file and exits instead of serving requests
+ * Enabled by setting book.export.file, e.g.
+ *   java -jar book-tracker-backend.jar --spring.main.web-application-type=none \
+ *        --book.export.file=books.csv --book.export.format=csv --book.export.resume=true
+ * With resume=true an existing file is cut back to its last complete row and
+ * completed in place, so the same command can simply be re-run after a failure.
+ */
+@Component
+@ConditionalOnProperty(prefix = "book.export", name = "file")
+public class ExportCommand implements ApplicationRunner {
+    private final BookService bookService;
+    private final ConfigurableApplicationContext context;
+    private final Path file;
+    private final String format;
+    private final boolean gzip;
+    private final boolean resume;
+
+    @Autowired
+    public ExportCommand(BookService aBookService, ConfigurableApplicationContext aContext,
+                         @Value("${book.export.file}") Path aFile,
+                         @Value("${book.export.format:csv}") String aFormat,
+                         @Value("${book.export.gzip:false}") boolean aGzip,
+                         @Value("${book.export.resume:false}") boolean aResume) {
+        this.bookService = aBookService;
+        this.context = aContext;
+        this.file = aFile;
+        this.format = aFormat;
+        this.gzip = aGzip;
+        this.resume = aResume;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        int exitCode;
+        try {
+            long rows = bookService.exportBooksToFile(file, ExportFormat.fromParameter(format), gzip, resume);
+            System.out.println("Exported " + rows + " books to " + file);
+            exitCode = 0;
+
+        } catch (IllegalArgumentException e) {
+            System.err.println("Validation error exporting books: " + e.getMessage());
+            exitCode = 2;
+
+        } catch (Exception e) {
+            System.err.println("Error exporting books: " + e.getMessage());
+            exitCode = 1;
+        }
+
+        int code = exitCode;
+        System.exit(SpringApplication.exit(context, (ExitCodeGenerator) () -> code));
+    }
+}
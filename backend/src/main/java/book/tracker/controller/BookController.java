@@ -1,17 +1,30 @@
 package book.tracker.controller;
+import book.tracker.dto.BookOperation;
+import book.tracker.dto.BookOperationResult;
+import book.tracker.dto.BookSummary;
+import book.tracker.dto.HistogramBucket;
 import book.tracker.entity.Book;
 import book.tracker.service.BookService;
+import book.tracker.service.ExportFormat;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.data.domain.Page;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.DateTimeException;
+import java.time.LocalDate;
 import java.util.*;
 
 @RestController
 @RequestMapping("/api/books")
-@CrossOrigin(origins = "http://localhost:3000")
+@CrossOrigin(origins = "http://localhost:3000", exposedHeaders = BookController.TOTAL_COUNT_HEADER)
 public class BookController {
+    /** Total number of books, sent with paginated list responses when count=true */
+    static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+
     private final BookService bookService;
 
     @Autowired
@@ -25,15 +38,26 @@ public class BookController {
      * - search: Search in title or author
      * - genre: Filter by genre
      * - author: Filter by author
+     * - afterId, size: Return the next page of the unfiltered list in ID order
+     *   after this ID (keyset paging; constant cost however deep the page is)
+     * - page, size: Return one page by offset instead (for jumping to a position;
+     *   cost grows with the offset)
+     * - count: true to add the total number of books in the X-Total-Count header
+     *   (a cached total, so asking for it does not scan the table each time)
+     * Returns read-only BookSummary projections; use GET /api/books/{id} for the entity
      */
     @GetMapping
-    public ResponseEntity<List<Book>> getAllBooks(
+    public ResponseEntity<List<BookSummary>> getAllBooks(
             @RequestParam(required = false) String search,
             @RequestParam(required = false) String genre,
-            @RequestParam(required = false) String author) {
+            @RequestParam(required = false) String author,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(defaultValue = "false") boolean count) {
 
         try {
-            List<Book> books;
+            List<BookSummary> books;
 
             // Apply filters based on query parameters
             if (search != null && !search.trim().isEmpty()) {
@@ -42,12 +66,26 @@ public class BookController {
                 books = bookService.getBooksByGenre(genre);
             } else if (author != null && !author.trim().isEmpty()) {
                 books = bookService.searchBooksByAuthor(author);
+            } else if (afterId != null || page != null) {
+                List<BookSummary> bookPage = afterId != null
+                        ? bookService.getBooksAfterId(afterId, size)
+                        : bookService.getBooksPage(page, size);
+                ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+                if (count) {
+                    response.header(TOTAL_COUNT_HEADER, String.valueOf(bookService.countBooks()));
+                }
+                return response.body(bookPage);
             } else {
                 books = bookService.getAllBooks();
             }
 
             return ResponseEntity.ok(books);
 
+        } catch (IllegalArgumentException e) {
+            // Invalid page or size
+            System.err.println("Validation error getting books: " + e.getMessage());
+            return ResponseEntity.badRequest().build();
+
         } catch (Exception e) {
             // Log error and return server error
             System.err.println("Error getting books: " + e.getMessage());
@@ -55,6 +93,174 @@ public class BookController {
         }
     }
 
+    /**
+     * GET /api/books/export - Stream the whole catalog in ID order
+     * Optional query parameters:
+     * - format: csv (default) or ndjson
+     * - gzip: true to download a gzip archive
+     * - afterId: resume after the last ID already received (not with gzip:
+     *   an interrupted gzip download cannot be appended to)
+     * A failure after rows have been sent aborts the connection instead of
+     * ending the response normally, so clients can tell a truncated export
+     * from a complete one and resume with afterId.
+     */
+    @GetMapping("/export")
+    public void exportBooks(
+            @RequestParam(required = false) String format,
+            @RequestParam(defaultValue = "false") boolean gzip,
+            @RequestParam(defaultValue = "0") long afterId,
+            HttpServletResponse response) {
+
+        ExportFormat exportFormat;
+        try {
+            exportFormat = ExportFormat.fromParameter(format);
+            if (gzip && afterId > 0) {
+                throw new IllegalArgumentException("Gzip exports cannot be resumed");
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println("Validation error exporting books: " + e.getMessage());
+            response.setStatus(HttpStatus.BAD_REQUEST.value());
+            return;
+        }
+
+        String fileName = "books." + exportFormat.getExtension() + (gzip ? ".gz" : "");
+        response.setContentType(gzip ? "application/gzip" : exportFormat.getContentType());
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader("Content-Disposition", "attachment; filename=\"" + fileName + "\"");
+
+        try {
+            bookService.exportBooks(response.getOutputStream(), exportFormat, gzip, afterId);
+            response.flushBuffer();
+
+        } catch (Exception e) {
+            System.err.println("Error exporting books: " + e.getMessage());
+            if (response.isCommitted()) {
+                // Status can no longer change: rethrow so the container drops the
+                // connection rather than terminating the chunked body cleanly
+                throw new IllegalStateException("Export aborted after the response was committed", e);
+            }
+            response.reset();
+            response.setStatus(HttpStatus.INTERNAL_SERVER_ERROR.value());
+        }
+    }
+
+    /**
+     * GET /api/books/published - Books published in a date range, ordered by date
+     * Optional query parameters:
+     * - from, to: Inclusive bounds (yyyy-MM-dd), open if omitted
+     * - page, size: Paging, with the total count in the X-Total-Count header
+     */
+    @GetMapping("/published")
+    public ResponseEntity<List<BookSummary>> getBooksPublishedBetween(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
+        try {
+            Page<BookSummary> bookPage = bookService.getBooksPublishedBetween(from, to, page, size);
+            return ResponseEntity.ok()
+                    .header(TOTAL_COUNT_HEADER, String.valueOf(bookPage.getTotalElements()))
+                    .body(bookPage.getContent());
+
+        } catch (IllegalArgumentException e) {
+            System.err.println("Validation error getting books by date: " + e.getMessage());
+            return ResponseEntity.badRequest().build();
+
+        } catch (Exception e) {
+            System.err.println("Error getting books by date: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * GET /api/books/published/count - Number of books published in a date range
+     * Optional query parameters: from, to (inclusive, yyyy-MM-dd)
+     */
+    @GetMapping("/published/count")
+    public ResponseEntity<Long> countBooksPublishedBetween(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        try {
+            return ResponseEntity.ok(bookService.countBooksPublishedBetween(from, to));
+
+        } catch (IllegalArgumentException e) {
+            System.err.println("Validation error counting books by date: " + e.getMessage());
+            return ResponseEntity.badRequest().build();
+
+        } catch (Exception e) {
+            System.err.println("Error counting books by date: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * GET /api/books/published/after/{year} - Books published after January 1st of a year, ordered by date
+     * Optional query parameters:
+     * - page, size: Paging, with the total count in the X-Total-Count header
+     */
+    @GetMapping("/published/after/{year}")
+    public ResponseEntity<List<BookSummary>> getBooksPublishedAfter(
+            @PathVariable int year,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
+        try {
+            Page<BookSummary> bookPage = bookService.getBooksPublishedAfter(year, page, size);
+            return ResponseEntity.ok()
+                    .header(TOTAL_COUNT_HEADER, String.valueOf(bookPage.getTotalElements()))
+                    .body(bookPage.getContent());
+
+        } catch (IllegalArgumentException | DateTimeException e) {
+            // Invalid paging, or a year outside the supported date range
+            System.err.println("Validation error getting books published after year: " + e.getMessage());
+            return ResponseEntity.badRequest().build();
+
+        } catch (Exception e) {
+            System.err.println("Error getting books published after year: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * GET /api/books/published/histogram - Number of books per year or decade
+     * Optional query parameters:
+     * - bucket: year (default) or decade
+     */
+    @GetMapping("/published/histogram")
+    public ResponseEntity<List<HistogramBucket>> getPublicationHistogram(
+            @RequestParam(defaultValue = "year") String bucket) {
+        try {
+            return ResponseEntity.ok(bookService.getPublicationHistogram(bucket));
+
+        } catch (IllegalArgumentException e) {
+            System.err.println("Validation error getting histogram: " + e.getMessage());
+            return ResponseEntity.badRequest().build();
+
+        } catch (Exception e) {
+            System.err.println("Error getting histogram: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * GET /api/books/recent - Most recently published books, newest first
+     * Optional query parameters:
+     * - limit: Number of books (default 5)
+     */
+    @GetMapping("/recent")
+    public ResponseEntity<List<BookSummary>> getRecentBooks(@RequestParam(defaultValue = "5") int limit) {
+        try {
+            return ResponseEntity.ok(bookService.getRecentBooks(limit));
+
+        } catch (IllegalArgumentException e) {
+            System.err.println("Validation error getting recent books: " + e.getMessage());
+            return ResponseEntity.badRequest().build();
+
+        } catch (Exception e) {
+            System.err.println("Error getting recent books: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
     /**
      * GET /api/books/{id} - Get a book by ID
      */
@@ -96,6 +302,33 @@ public class BookController {
         }
     }
 
+    /**
+     * POST /api/books/batch - Apply an ordered list of create/update/delete operations
+     * All operations are applied in one transaction, or none are if any is invalid.
+     * Returns 200 with one result per operation, or 400 with the same list when rejected.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<List<BookOperationResult>> applyBatch(@RequestBody List<BookOperation> operations) {
+        try {
+            List<BookOperationResult> results = bookService.applyBatch(operations);
+
+            if (results.stream().anyMatch(BookOperationResult::isFailed)) {
+                return ResponseEntity.badRequest().body(results);
+            }
+            return ResponseEntity.ok(results);
+
+        } catch (IllegalArgumentException e) {
+            // Empty or oversized batch
+            System.err.println("Validation error applying batch: " + e.getMessage());
+            return ResponseEntity.badRequest().build();
+
+        } catch (Exception e) {
+            // Unexpected error
+            System.err.println("Error applying batch: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
     /**
      * PUT /api/books/{id} - Update an existing book
      */
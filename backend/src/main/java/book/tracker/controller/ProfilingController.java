@@ -0,0 +1,129 @@
+package book.tracker.controller;
+import book.tracker.dto.RecordingStatus;
+import book.tracker.service.ProfilingService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Starts, downloads and stops JFR recordings of a live node
+ * Disabled unless book.profiling.enabled=true, and deliberately without CORS:
+ * it is meant for operators calling the node directly, not for the frontend.
+ */
+@RestController
+@RequestMapping("/api/profiling/recording")
+@ConditionalOnProperty(prefix = "book.profiling", name = "enabled", havingValue = "true")
+public class ProfilingController {
+    private final ProfilingService profilingService;
+
+    @Autowired
+    public ProfilingController(ProfilingService aProfilingService) {
+        this.profilingService = aProfilingService;
+    }
+
+    /**
+     * POST /api/profiling/recording - Start a bounded continuous JFR recording
+     * Optional query parameters:
+     * - maxAgeMinutes: History to keep (default 10, max 360)
+     * - maxSizeMb: Data to keep on disk (default 100, max 256)
+     */
+    @PostMapping
+    public ResponseEntity<RecordingStatus> startRecording(
+            @RequestParam(defaultValue = "10") long maxAgeMinutes,
+            @RequestParam(defaultValue = "100") long maxSizeMb) {
+        try {
+            RecordingStatus status = profilingService.startRecording(
+                    Duration.ofMinutes(maxAgeMinutes), maxSizeMb * 1024 * 1024);
+            return ResponseEntity.status(HttpStatus.CREATED).body(status);
+
+        } catch (IllegalArgumentException e) {
+            System.err.println("Validation error starting recording: " + e.getMessage());
+            return ResponseEntity.badRequest().build();
+
+        } catch (IllegalStateException e) {
+            // Already running
+            System.err.println("Error starting recording: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+
+        } catch (Exception e) {
+            System.err.println("Error starting recording: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * GET /api/profiling/recording - Status of the current recording
+     */
+    @GetMapping
+    public ResponseEntity<RecordingStatus> getRecordingStatus() {
+        Optional<RecordingStatus> status = profilingService.getStatus();
+
+        if (status.isPresent()) {
+            return ResponseEntity.ok(status.get());
+        } else {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    /**
+     * GET /api/profiling/recording/download - Download the data recorded so far as a .jfr file
+     * A running recording keeps running.
+     */
+    @GetMapping("/download")
+    public ResponseEntity<StreamingResponseBody> downloadRecording() {
+        try {
+            Path dump = Files.createTempFile("book-tracker-", ".jfr");
+            try {
+                profilingService.dumpRecording(dump);
+            } catch (Exception e) {
+                Files.deleteIfExists(dump);
+                throw e;
+            }
+
+            StreamingResponseBody body = out -> {
+                try {
+                    Files.copy(dump, out);
+                } finally {
+                    Files.deleteIfExists(dump);
+                }
+            };
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                    .header("Content-Disposition", "attachment; filename=\"book-tracker.jfr\"")
+                    .body(body);
+
+        } catch (IllegalStateException e) {
+            // Nothing recorded yet
+            System.err.println("Error downloading recording: " + e.getMessage());
+            return ResponseEntity.notFound().build();
+
+        } catch (Exception e) {
+            System.err.println("Error downloading recording: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * DELETE /api/profiling/recording - Stop the running recording (data stays downloadable)
+     */
+    @DeleteMapping
+    public ResponseEntity<RecordingStatus> stopRecording() {
+        try {
+            return ResponseEntity.ok(profilingService.stopRecording());
+
+        } catch (IllegalStateException e) {
+            // Nothing running
+            System.err.println("Error stopping recording: " + e.getMessage());
+            return ResponseEntity.notFound().build();
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package book.tracker.dto;
+
+import java.time.LocalDate;
+
+/**
+ * ID and publication date of a book, used to build the publication date index
+ */
+public record BookDate(Long id, LocalDate publishedDate) {
+}
@@ -0,0 +1,20 @@
+package book.tracker.dto;
+
+import book.tracker.entity.Book;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * One entry of a POST /api/books/batch request
+ * Example: {"op": "update", "id": 7, "book": {"title": "...", "author": "..."}}
+ * @param op What to do
+ * @param id Target book ID (update and delete only)
+ * @param book Book data (create and update only)
+ */
+public record BookOperation(Type op, Long id, Book book) {
+
+    public enum Type {
+        @JsonProperty("create") CREATE,
+        @JsonProperty("update") UPDATE,
+        @JsonProperty("delete") DELETE
+    }
+}
@@ -0,0 +1,24 @@
+package book.tracker.dto;
+
+/**
+ * Outcome of one batch operation, in the same position as the request entry
+ * @param index Position of the operation in the request
+ * @param op Operation type
+ * @param status HTTP-style status for this operation:
+ *               201/200/204 when applied, 400/404 when invalid,
+ *               424 when valid but not applied because another operation failed
+ * @param book Resulting book for create and update
+ * @param error Reason the operation failed, null otherwise
+ */
+public record BookOperationResult(
+        int index,
+        BookOperation.Type op,
+        Long id,
+        int status,
+        BookSummary book,
+        String error) {
+
+    public boolean isFailed() {
+        return error != null;
+    }
+}
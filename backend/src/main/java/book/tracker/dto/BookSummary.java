@@ -0,0 +1,23 @@
+package book.tracker.dto;
+
+import book.tracker.entity.Book;
+
+import java.time.LocalDate;
+
+/**
+ * Read-only view of a book used by the list endpoints.
+ * Built directly from query results (JPQL constructor expression / Spring Data
+ * DTO projection), so no managed Book entity or dirty-check snapshot is created.
+ */
+public record BookSummary(
+        Long id,
+        String title,
+        String author,
+        LocalDate publishedDate,
+        String genre) {
+
+    public static BookSummary from(Book book) {
+        return new BookSummary(book.getId(), book.getTitle(), book.getAuthor(),
+                book.getPublishedDate(), book.getGenre());
+    }
+}
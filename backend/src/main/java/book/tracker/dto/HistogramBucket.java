@@ -0,0 +1,8 @@
+package book.tracker.dto;
+
+/**
+ * Number of books published in a range of years (both ends inclusive)
+ * Example: {"startYear": 1940, "endYear": 1949, "count": 12}
+ */
+public record HistogramBucket(int startYear, int endYear, long count) {
+}
@@ -0,0 +1,19 @@
+package book.tracker.dto;
+
+import java.time.Instant;
+
+/**
+ * State of the continuous JFR recording managed by /api/profiling/recording
+ * @param state NEW, RUNNING, STOPPED or CLOSED (jdk.jfr.RecordingState)
+ * @param sizeBytes Bytes currently held by the recording
+ */
+public record RecordingStatus(
+        long id,
+        String name,
+        String state,
+        Instant startTime,
+        Instant stopTime,
+        long maxAgeSeconds,
+        long maxSizeBytes,
+        long sizeBytes) {
+}
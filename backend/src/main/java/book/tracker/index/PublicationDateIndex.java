@@ -0,0 +1,511 @@
+package book.tracker.index;
+
+import book.tracker.dto.BookDate;
+import book.tracker.dto.HistogramBucket;
+import book.tracker.repository.BookRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * In-memory index of books by publication date
+ *
+ * Holds (epochDay, id) entries sorted by day then ID, split into immutable
+ * segments of about SEGMENT_SIZE entries, each two parallel primitive arrays.
+ * Range counts, range-to-ID lookups, top-K newest and histograms are binary
+ * searches over them, with no database round trip. Books without a
+ * publication date are not indexed; dates beyond the int epoch-day range are
+ * clamped to its ends.
+ *
+ * Readers use an immutable snapshot and never lock. Writers copy only the
+ * segments their changes fall into (splitting or merging them as they grow
+ * or shrink) plus the small segment directory, so a single-book write costs
+ * O(SEGMENT_SIZE + n / SEGMENT_SIZE) rather than a copy of the whole index.
+ *
+ * The index is loaded once the application is ready; until then isReady()
+ * is false and callers fall back to the database.
+ */
+@Component
+public class PublicationDateIndex {
+
+    /** Entries per segment after a load or a split */
+    private static final int SEGMENT_SIZE = 1024;
+    /** Segments split above this size and merge into a neighbour below MIN_SEGMENT_SIZE */
+    private static final int MAX_SEGMENT_SIZE = 2 * SEGMENT_SIZE;
+    private static final int MIN_SEGMENT_SIZE = SEGMENT_SIZE / 4;
+
+    /** Epoch days are clamped to this range, so day + 1 cannot overflow and NO_DAY stays free */
+    private static final int MIN_DAY = Integer.MIN_VALUE + 1;
+    private static final int MAX_DAY = Integer.MAX_VALUE - 1;
+    private static final int NO_DAY = Integer.MIN_VALUE;
+
+    private static final Snapshot EMPTY = new Snapshot(List.of());
+
+    private final BookRepository bookRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Object writeLock = new Object();
+
+    private volatile Snapshot snapshot = EMPTY;
+    private volatile boolean ready;
+    // Indexed day of each book, so a change can find the entry it replaces (guarded by writeLock)
+    private DaysById daysById = new DaysById();
+
+    @Autowired
+    public PublicationDateIndex(BookRepository aBookRepository, PlatformTransactionManager aTransactionManager) {
+        this.bookRepository = aBookRepository;
+        this.readOnlyTransaction = new TransactionTemplate(aTransactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    // ===============================================
+    // LOADING AND UPDATES
+    // ===============================================
+
+    /**
+     * Load every dated book, in (date, id) order, from the database
+     * Holds the write lock so changes committed meanwhile are applied afterwards.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        synchronized (writeLock) {
+            try {
+                DaysById loadedDays = new DaysById();
+                Snapshot loaded = readOnlyTransaction.execute(status -> {
+                    try (Stream<BookDate> rows = bookRepository.streamPublicationDates()) {
+                        return Snapshot.fromSorted(rows.iterator(), loadedDays);
+                    }
+                });
+                snapshot = loaded;
+                daysById = loadedDays;
+                ready = true;
+            } catch (Exception e) {
+                // Stay not ready: callers keep using the database
+                System.err.println("Error loading publication date index: " + e.getMessage());
+            }
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Apply committed changes, copying only the segments they touch
+     * @param changes Book ID to its new publication date; a null date removes the book
+     */
+    public void apply(Map<Long, LocalDate> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        synchronized (writeLock) {
+            List<Entry> removals = new ArrayList<>();
+            List<Entry> additions = new ArrayList<>();
+            for (Map.Entry<Long, LocalDate> change : changes.entrySet()) {
+                long id = change.getKey();
+                int oldDay = daysById.get(id);
+                int newDay = change.getValue() == null ? NO_DAY : epochDay(change.getValue());
+                if (oldDay == newDay) {
+                    continue;
+                }
+                if (oldDay != NO_DAY) {
+                    removals.add(new Entry(oldDay, id));
+                }
+                if (newDay != NO_DAY) {
+                    additions.add(new Entry(newDay, id));
+                }
+                daysById.put(id, newDay);
+            }
+            if (removals.isEmpty() && additions.isEmpty()) {
+                return;
+            }
+
+            removals.sort(null);
+            additions.sort(null);
+            snapshot = snapshot.with(removals, additions);
+        }
+    }
+
+    // ===============================================
+    // QUERIES
+    // ===============================================
+
+    /**
+     * Number of books published between the two dates (inclusive, null = open)
+     */
+    public int count(LocalDate from, LocalDate to) {
+        Snapshot current = snapshot;
+        return Math.max(0, current.upperBound(to) - current.lowerBound(from));
+    }
+
+    /**
+     * IDs of books published between the two dates, ordered by date then ID
+     * @param offset Matches to skip
+     * @param limit Maximum number of IDs to return
+     */
+    public long[] findIds(LocalDate from, LocalDate to, int offset, int limit) {
+        Snapshot current = snapshot;
+        // long math: callers pass Integer.MAX_VALUE as "no limit"
+        long start = (long) current.lowerBound(from) + offset;
+        long end = Math.min(current.upperBound(to), start + limit);
+        if (start >= end) {
+            return new long[0];
+        }
+        return current.copyIds((int) start, (int) end);
+    }
+
+    /**
+     * IDs of the k most recently published books, newest first
+     */
+    public long[] findNewestIds(int k) {
+        Snapshot current = snapshot;
+        long[] newest = new long[Math.min(k, current.size)];
+        int count = 0;
+        for (int s = current.segments.length - 1; s >= 0 && count < newest.length; s--) {
+            long[] ids = current.segments[s].ids;
+            for (int i = ids.length - 1; i >= 0 && count < newest.length; i--) {
+                newest[count++] = ids[i];
+            }
+        }
+        return newest;
+    }
+
+    /**
+     * Books per bucket of years, oldest first; empty buckets are skipped
+     * @param bucketYears 1 for a per-year histogram, 10 for per-decade
+     */
+    public List<HistogramBucket> histogram(int bucketYears) {
+        Snapshot current = snapshot;
+        List<HistogramBucket> buckets = new ArrayList<>();
+
+        int index = 0;
+        while (index < current.size) {
+            int year = LocalDate.ofEpochDay(current.dayAt(index)).getYear();
+            int startYear = Math.floorDiv(year, bucketYears) * bucketYears;
+            int endYear = startYear + bucketYears - 1;
+
+            // The last bucket may end beyond the clamped range
+            long nextDay = LocalDate.of(endYear + 1, 1, 1).toEpochDay();
+            int end = nextDay > MAX_DAY ? current.size : current.position((int) nextDay);
+            buckets.add(new HistogramBucket(startYear, endYear, end - index));
+            index = end;
+        }
+        return buckets;
+    }
+
+    // ===============================================
+    // PRIVATE HELPER METHODS
+    // ===============================================
+
+    private static int epochDay(LocalDate date) {
+        return (int) Math.max(MIN_DAY, Math.min(MAX_DAY, date.toEpochDay()));
+    }
+
+    /**
+     * One indexed book, ordered by day then ID
+     */
+    private record Entry(int day, long id) implements Comparable<Entry> {
+
+        @Override
+        public int compareTo(Entry other) {
+            return compareTo(other.day, other.id);
+        }
+
+        int compareTo(int otherDay, long otherId) {
+            int byDay = Integer.compare(day, otherDay);
+            return byDay != 0 ? byDay : Long.compare(id, otherId);
+        }
+    }
+
+    /**
+     * Immutable run of sorted entries
+     */
+    private static final class Segment {
+        final int[] days;
+        final long[] ids;
+
+        Segment(int[] aDays, long[] aIds) {
+            this.days = aDays;
+            this.ids = aIds;
+        }
+
+        int size() {
+            return days.length;
+        }
+
+        /**
+         * First position whose day is >= the given day
+         */
+        int search(int day) {
+            int low = 0;
+            int high = days.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (days[mid] < day) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * Copy of this segment without the removals and with the additions (both sorted)
+         */
+        Segment merge(List<Entry> removals, List<Entry> additions) {
+            int[] mergedDays = new int[days.length + additions.size()];
+            long[] mergedIds = new long[mergedDays.length];
+            int size = 0;
+            int nextRemoval = 0;
+            int nextAddition = 0;
+            for (int i = 0; i < days.length; i++) {
+                while (nextRemoval < removals.size() && removals.get(nextRemoval).compareTo(days[i], ids[i]) < 0) {
+                    nextRemoval++;
+                }
+                if (nextRemoval < removals.size() && removals.get(nextRemoval).compareTo(days[i], ids[i]) == 0) {
+                    nextRemoval++;
+                    continue;
+                }
+                while (nextAddition < additions.size() && additions.get(nextAddition).compareTo(days[i], ids[i]) < 0) {
+                    mergedDays[size] = additions.get(nextAddition).day();
+                    mergedIds[size++] = additions.get(nextAddition++).id();
+                }
+                mergedDays[size] = days[i];
+                mergedIds[size++] = ids[i];
+            }
+            while (nextAddition < additions.size()) {
+                mergedDays[size] = additions.get(nextAddition).day();
+                mergedIds[size++] = additions.get(nextAddition++).id();
+            }
+            return new Segment(Arrays.copyOf(mergedDays, size), Arrays.copyOf(mergedIds, size));
+        }
+
+        Segment concat(Segment next) {
+            int[] joinedDays = Arrays.copyOf(days, days.length + next.days.length);
+            long[] joinedIds = Arrays.copyOf(ids, joinedDays.length);
+            System.arraycopy(next.days, 0, joinedDays, days.length, next.days.length);
+            System.arraycopy(next.ids, 0, joinedIds, ids.length, next.ids.length);
+            return new Segment(joinedDays, joinedIds);
+        }
+
+        Segment slice(int from, int to) {
+            return new Segment(Arrays.copyOfRange(days, from, to), Arrays.copyOfRange(ids, from, to));
+        }
+    }
+
+    /**
+     * Immutable list of segments shared by all readers
+     */
+    private static final class Snapshot {
+        final Segment[] segments;
+        // Position of each segment's first entry, and each segment's last day
+        final int[] starts;
+        final int[] lastDays;
+        final int size;
+
+        Snapshot(List<Segment> aSegments) {
+            this.segments = aSegments.toArray(new Segment[0]);
+            this.starts = new int[segments.length];
+            this.lastDays = new int[segments.length];
+            int position = 0;
+            for (int s = 0; s < segments.length; s++) {
+                starts[s] = position;
+                lastDays[s] = segments[s].days[segments[s].size() - 1];
+                position += segments[s].size();
+            }
+            this.size = position;
+        }
+
+        static Snapshot fromSorted(Iterator<BookDate> rows, DaysById daysById) {
+            List<Segment> segments = new ArrayList<>();
+            int[] days = new int[SEGMENT_SIZE];
+            long[] ids = new long[SEGMENT_SIZE];
+            int size = 0;
+            while (rows.hasNext()) {
+                BookDate row = rows.next();
+                days[size] = epochDay(row.publishedDate());
+                ids[size] = row.id();
+                daysById.put(row.id(), days[size]);
+                if (++size == SEGMENT_SIZE) {
+                    segments.add(new Segment(days, ids));
+                    days = new int[SEGMENT_SIZE];
+                    ids = new long[SEGMENT_SIZE];
+                    size = 0;
+                }
+            }
+            if (size > 0) {
+                segments.add(new Segment(Arrays.copyOf(days, size), Arrays.copyOf(ids, size)));
+            }
+            return new Snapshot(segments);
+        }
+
+        /**
+         * New snapshot with the changes applied; untouched segments are shared
+         * @param removals Entries to remove, sorted
+         * @param additions Entries to add, sorted
+         */
+        Snapshot with(List<Entry> removals, List<Entry> additions) {
+            List<Segment> result = new ArrayList<>(segments.length + 1);
+            if (segments.length == 0) {
+                addRebuilt(result, new Segment(new int[0], new long[0]).merge(List.of(), additions));
+                return new Snapshot(result);
+            }
+
+            int nextRemoval = 0;
+            int nextAddition = 0;
+            for (int s = 0; s < segments.length; s++) {
+                // Changes ordered before the next segment's first entry belong to this one
+                int removalEnd = s == segments.length - 1 ? removals.size() : endBefore(removals, nextRemoval, segments[s + 1]);
+                int additionEnd = s == segments.length - 1 ? additions.size() : endBefore(additions, nextAddition, segments[s + 1]);
+                if (removalEnd == nextRemoval && additionEnd == nextAddition) {
+                    result.add(segments[s]);
+                    continue;
+                }
+
+                addRebuilt(result, segments[s].merge(
+                        removals.subList(nextRemoval, removalEnd), additions.subList(nextAddition, additionEnd)));
+                nextRemoval = removalEnd;
+                nextAddition = additionEnd;
+            }
+            return new Snapshot(result);
+        }
+
+        /**
+         * First position, within the whole index, whose day is >= the given day
+         */
+        int position(int day) {
+            int low = 0;
+            int high = segments.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (lastDays[mid] < day) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low == segments.length ? size : starts[low] + segments[low].search(day);
+        }
+
+        /**
+         * First position published on or after the date (0 if null)
+         */
+        int lowerBound(LocalDate date) {
+            return date == null ? 0 : position(epochDay(date));
+        }
+
+        /**
+         * First position published after the date (size if null)
+         */
+        int upperBound(LocalDate date) {
+            return date == null ? size : position(epochDay(date) + 1);
+        }
+
+        int dayAt(int position) {
+            int s = segmentAt(position);
+            return segments[s].days[position - starts[s]];
+        }
+
+        long[] copyIds(int from, int to) {
+            long[] copy = new long[to - from];
+            int copied = 0;
+            for (int s = segmentAt(from); copied < copy.length; s++) {
+                int offset = from + copied - starts[s];
+                int length = Math.min(segments[s].size() - offset, copy.length - copied);
+                System.arraycopy(segments[s].ids, offset, copy, copied, length);
+                copied += length;
+            }
+            return copy;
+        }
+
+        /**
+         * Segment holding the entry at this position
+         */
+        private int segmentAt(int position) {
+            int low = 0;
+            int high = segments.length - 1;
+            while (low < high) {
+                int mid = (low + high + 1) >>> 1;
+                if (starts[mid] <= position) {
+                    low = mid;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            return low;
+        }
+
+        private static int endBefore(List<Entry> changes, int from, Segment next) {
+            int end = from;
+            while (end < changes.size() && changes.get(end).compareTo(next.days[0], next.ids[0]) < 0) {
+                end++;
+            }
+            return end;
+        }
+
+        /**
+         * Add a rebuilt segment, merging it into the previous one when small and splitting it when large
+         */
+        private static void addRebuilt(List<Segment> result, Segment segment) {
+            if (segment.size() == 0) {
+                return;
+            }
+            if (segment.size() < MIN_SEGMENT_SIZE && !result.isEmpty()
+                    && result.get(result.size() - 1).size() + segment.size() <= MAX_SEGMENT_SIZE) {
+                segment = result.remove(result.size() - 1).concat(segment);
+            }
+            if (segment.size() <= MAX_SEGMENT_SIZE) {
+                result.add(segment);
+                return;
+            }
+
+            int pieces = (segment.size() + SEGMENT_SIZE - 1) / SEGMENT_SIZE;
+            for (int piece = 0; piece < pieces; piece++) {
+                result.add(segment.slice(
+                        (int) ((long) segment.size() * piece / pieces),
+                        (int) ((long) segment.size() * (piece + 1) / pieces)));
+            }
+        }
+    }
+
+    /**
+     * Book ID to indexed epoch day, in pages of 4096 IDs
+     * IDENTITY keys are dense, so this costs about 4 bytes per book.
+     */
+    private static final class DaysById {
+        private static final int PAGE_BITS = 12;
+        private static final int PAGE_MASK = (1 << PAGE_BITS) - 1;
+
+        private final Map<Long, int[]> pages = new HashMap<>();
+
+        int get(long id) {
+            int[] page = pages.get(id >> PAGE_BITS);
+            return page == null ? NO_DAY : page[(int) (id & PAGE_MASK)];
+        }
+
+        void put(long id, int day) {
+            int[] page = pages.get(id >> PAGE_BITS);
+            if (page == null) {
+                if (day == NO_DAY) {
+                    return;
+                }
+                page = new int[1 << PAGE_BITS];
+                Arrays.fill(page, NO_DAY);
+                pages.put(id >> PAGE_BITS, page);
+            }
+            page[(int) (id & PAGE_MASK)] = day;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package book.tracker.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event around a BookController handler
+ */
+@Name("book.tracker.Controller")
+@Label("Controller Handler")
+@Category({"Book Tracker", "Controller"})
+@Description("Time spent in a BookController handler, excluding response serialization")
+@StackTrace(false)
+public class ControllerEvent extends Event {
+
+    @Label("Handler")
+    String handler;
+
+    @Label("Arguments")
+    String arguments;
+
+    @Label("Row Count")
+    @Description("Rows in the response body, -1 if not a collection")
+    int rowCount;
+
+    @Label("Failed")
+    boolean failed;
+}
@@ -0,0 +1,159 @@
+package book.tracker.profiling;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Page;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.time.temporal.TemporalAccessor;
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Emits custom JFR events around BookController handlers, BookService operations
+ * and BookRepository calls.
+ * When no recording has the events enabled, each call costs one isEnabled() check;
+ * event details (argument strings, row counts) are only built for events that are
+ * actually committed.
+ * Runs outside the transaction advice so service events include the commit/flush.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class JfrProfilingAspect {
+
+    private static final int MAX_ARGUMENTS_LENGTH = 200;
+
+    @Around("execution(public * book.tracker.controller.BookController.*(..))")
+    public Object profileController(ProceedingJoinPoint joinPoint) throws Throwable {
+        ControllerEvent event = new ControllerEvent();
+        if (!event.isEnabled()) {
+            return joinPoint.proceed();
+        }
+
+        Object result = null;
+        boolean failed = true;
+        event.begin();
+        try {
+            result = joinPoint.proceed();
+            failed = false;
+            return result;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.handler = joinPoint.getSignature().getName();
+                event.arguments = describeArguments(joinPoint.getArgs());
+                event.rowCount = rowCount(result);
+                event.failed = failed;
+                event.commit();
+            }
+        }
+    }
+
+    @Around("execution(public * book.tracker.service.BookService.*(..))")
+    public Object profileService(ProceedingJoinPoint joinPoint) throws Throwable {
+        ServiceEvent event = new ServiceEvent();
+        if (!event.isEnabled()) {
+            return joinPoint.proceed();
+        }
+
+        Object result = null;
+        boolean failed = true;
+        event.begin();
+        try {
+            result = joinPoint.proceed();
+            failed = false;
+            return result;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.operation = joinPoint.getSignature().getName();
+                event.arguments = describeArguments(joinPoint.getArgs());
+                event.rowCount = rowCount(result);
+                event.failed = failed;
+                event.commit();
+            }
+        }
+    }
+
+    @Around("execution(* book.tracker.repository.BookRepository+.*(..))")
+    public Object profileRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        RepositoryEvent event = new RepositoryEvent();
+        if (!event.isEnabled()) {
+            return joinPoint.proceed();
+        }
+
+        Object result = null;
+        boolean failed = true;
+        event.begin();
+        try {
+            result = joinPoint.proceed();
+            failed = false;
+            return result;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.query = joinPoint.getSignature().getName();
+                event.arguments = describeArguments(joinPoint.getArgs());
+                event.rowCount = rowCount(result);
+                event.failed = failed;
+                event.commit();
+            }
+        }
+    }
+
+    // ===============================================
+    // HELPER METHODS (shared with the serialization event)
+    // ===============================================
+
+    /**
+     * Number of rows in a result, or -1 if it is not a collection-like value
+     * Streams are consumed lazily after the call returns, so they report -1.
+     */
+    static int rowCount(Object result) {
+        if (result instanceof ResponseEntity<?> response) {
+            return rowCount(response.getBody());
+        }
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Page<?> page) {
+            return page.getNumberOfElements();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        return -1;
+    }
+
+    /**
+     * Short, bounded description of call arguments: simple values verbatim,
+     * collections by size and anything else by type name
+     */
+    static String describeArguments(Object[] args) {
+        StringBuilder description = new StringBuilder();
+        for (Object arg : args) {
+            if (!description.isEmpty()) {
+                description.append(", ");
+            }
+            if (arg == null || arg instanceof CharSequence || arg instanceof Number
+                    || arg instanceof Boolean || arg instanceof Enum<?> || arg instanceof TemporalAccessor) {
+                description.append(arg);
+            } else if (arg instanceof Collection<?> collection) {
+                description.append('[').append(collection.size()).append(" items]");
+            } else {
+                description.append(arg.getClass().getSimpleName());
+            }
+            if (description.length() > MAX_ARGUMENTS_LENGTH) {
+                description.setLength(MAX_ARGUMENTS_LENGTH);
+                description.append("...");
+                break;
+            }
+        }
+        return description.toString();
+    }
+}
@@ -0,0 +1,19 @@
+package book.tracker.profiling;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+@Configuration
+public class ProfilingConfig {
+
+    /**
+     * Replaces Spring Boot's default Jackson converter (same ObjectMapper) so
+     * response serialization shows up as its own JFR event
+     */
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper) {
+        return new ProfilingJacksonConverter(objectMapper);
+    }
+}
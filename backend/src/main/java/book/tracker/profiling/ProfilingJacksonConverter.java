@@ -0,0 +1,45 @@
+package book.tracker.profiling;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * Jackson converter that wraps response serialization in a SerializationEvent
+ * Registered in place of Spring Boot's default converter by ProfilingConfig.
+ */
+public class ProfilingJacksonConverter extends MappingJackson2HttpMessageConverter {
+
+    public ProfilingJacksonConverter(ObjectMapper objectMapper) {
+        super(objectMapper);
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        SerializationEvent event = new SerializationEvent();
+        if (!event.isEnabled()) {
+            super.writeInternal(object, type, outputMessage);
+            return;
+        }
+
+        boolean failed = true;
+        event.begin();
+        try {
+            super.writeInternal(object, type, outputMessage);
+            failed = false;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.bodyType = object == null ? "null" : object.getClass().getSimpleName();
+                event.rowCount = JfrProfilingAspect.rowCount(object);
+                event.failed = failed;
+                event.commit();
+            }
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package book.tracker.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event around a BookRepository call (JDBC round trip plus Hibernate work)
+ */
+@Name("book.tracker.Repository")
+@Label("Repository Call")
+@Category({"Book Tracker", "Repository"})
+@Description("Time spent in a BookRepository method")
+@StackTrace(false)
+public class RepositoryEvent extends Event {
+
+    @Label("Query")
+    @Description("Repository method name")
+    String query;
+
+    @Label("Arguments")
+    String arguments;
+
+    @Label("Row Count")
+    @Description("Rows returned, -1 if not a collection")
+    int rowCount;
+
+    @Label("Failed")
+    boolean failed;
+}
@@ -0,0 +1,29 @@
+package book.tracker.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event around Jackson writing a response body
+ */
+@Name("book.tracker.Serialization")
+@Label("Response Serialization")
+@Category({"Book Tracker", "Serialization"})
+@Description("Time spent writing a JSON response body")
+@StackTrace(false)
+public class SerializationEvent extends Event {
+
+    @Label("Body Type")
+    String bodyType;
+
+    @Label("Row Count")
+    @Description("Elements in the body, -1 if not a collection")
+    int rowCount;
+
+    @Label("Failed")
+    boolean failed;
+}
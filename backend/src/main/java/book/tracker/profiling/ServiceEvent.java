@@ -0,0 +1,32 @@
+package book.tracker.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event around a BookService operation (validation, duplicate checks and flush included)
+ */
+@Name("book.tracker.Service")
+@Label("Service Operation")
+@Category({"Book Tracker", "Service"})
+@Description("Time spent in a BookService operation, including its transaction")
+@StackTrace(false)
+public class ServiceEvent extends Event {
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Arguments")
+    String arguments;
+
+    @Label("Row Count")
+    @Description("Rows returned, -1 if not a collection")
+    int rowCount;
+
+    @Label("Failed")
+    boolean failed;
+}
@@ -1,13 +1,24 @@
 package book.tracker.repository;
+import book.tracker.dto.BookDate;
+import book.tracker.dto.BookSummary;
 import book.tracker.entity.Book;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+
 public interface BookRepository extends JpaRepository<Book, Long>{
 
     // Basic CRUD operations are inherited from JpaRepository:
@@ -112,4 +123,108 @@ public interface BookRepository extends JpaRepository<Book, Long>{
      * Find books with null publication date (data cleanup)
      */
     List<Book> findByPublishedDateIsNull();
+
+    // Read-only summary projections used by the list endpoints.
+    // These return BookSummary records instead of managed entities, so Hibernate
+    // does not keep a persistence-context entry or dirty-check snapshot per row.
+
+    /**
+     * All books as summaries
+     */
+    @Query("SELECT new book.tracker.dto.BookSummary(b.id, b.title, b.author, b.publishedDate, b.genre) " +
+            "FROM Book b")
+    List<BookSummary> findAllSummaries();
+
+    /**
+     * One page of summaries in ID order, by offset (for jumping to a position in the list view)
+     * Returns a List so no count query runs; the cost grows with the offset.
+     */
+    @Query("SELECT new book.tracker.dto.BookSummary(b.id, b.title, b.author, b.publishedDate, b.genre) " +
+            "FROM Book b ORDER BY b.id")
+    List<BookSummary> findSummaryPage(Pageable pageable);
+
+    /**
+     * The next summaries after an ID, in ID order (keyset paging: an index range
+     * scan whose cost does not depend on how far into the list it starts)
+     */
+    @Query("SELECT new book.tracker.dto.BookSummary(b.id, b.title, b.author, b.publishedDate, b.genre) " +
+            "FROM Book b WHERE b.id > :afterId ORDER BY b.id")
+    List<BookSummary> findSummariesAfterId(@Param("afterId") long afterId, Pageable pageable);
+
+    /**
+     * Summary variant of findByTitleContainingIgnoreCase
+     */
+    List<BookSummary> findSummariesByTitleContainingIgnoreCase(String title);
+
+    /**
+     * Summary variant of findByAuthorContainingIgnoreCase
+     */
+    List<BookSummary> findSummariesByAuthorContainingIgnoreCase(String author);
+
+    /**
+     * Summary variant of findByGenreIgnoreCase
+     */
+    List<BookSummary> findSummariesByGenreIgnoreCase(String genre);
+
+    /**
+     * Summary variant of findByTitleOrAuthorContaining
+     */
+    @Query("SELECT new book.tracker.dto.BookSummary(b.id, b.title, b.author, b.publishedDate, b.genre) " +
+            "FROM Book b WHERE " +
+            "LOWER(b.title) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+            "LOWER(b.author) LIKE LOWER(CONCAT('%', :searchTerm, '%'))")
+    List<BookSummary> findSummariesByTitleOrAuthorContaining(@Param("searchTerm") String searchTerm);
+
+    /**
+     * Summaries of all books with any of the given titles
+     * Used by batch writes to run the title + author duplicate check in one query
+     */
+    List<BookSummary> findSummariesByTitleIn(Collection<String> titles);
+
+    /**
+     * Summaries of the books with the given IDs (in no particular order)
+     */
+    List<BookSummary> findSummariesByIdIn(Collection<Long> ids);
+
+    /**
+     * Page of summaries published in a date range (inclusive); order comes from the Pageable
+     */
+    Page<BookSummary> findSummariesByPublishedDateBetween(LocalDate startDate, LocalDate endDate, Pageable pageable);
+
+    /**
+     * Count books published in a date range (inclusive)
+     */
+    long countByPublishedDateBetween(LocalDate startDate, LocalDate endDate);
+
+    /**
+     * Newest dated books, newest first; the Pageable sets how many
+     */
+    List<BookSummary> findSummariesByPublishedDateIsNotNullOrderByPublishedDateDescIdDesc(Pageable pageable);
+
+    /**
+     * Books per publication year, as [year, count] rows
+     */
+    @Query("SELECT EXTRACT(YEAR FROM b.publishedDate), COUNT(b) FROM Book b " +
+            "WHERE b.publishedDate IS NOT NULL GROUP BY EXTRACT(YEAR FROM b.publishedDate)")
+    List<Object[]> countByPublishedYear();
+
+    /**
+     * Stream (id, publishedDate) of every dated book, ordered by date then ID
+     * Used to build the in-memory publication date index.
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new book.tracker.dto.BookDate(b.id, b.publishedDate) FROM Book b " +
+            "WHERE b.publishedDate IS NOT NULL ORDER BY b.publishedDate, b.id")
+    Stream<BookDate> streamPublicationDates();
+
+    /**
+     * Stream summaries in primary-key order, starting after the given ID (for export/resume)
+     * The fetch size makes the PostgreSQL driver use a server-side cursor, so rows are
+     * pulled in fixed-size chunks instead of loading the whole table.
+     * Must be consumed inside a transaction and closed afterwards.
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new book.tracker.dto.BookSummary(b.id, b.title, b.author, b.publishedDate, b.genre) " +
+            "FROM Book b WHERE b.id > :afterId ORDER BY b.id")
+    Stream<BookSummary> streamSummariesAfterId(@Param("afterId") long afterId);
 }
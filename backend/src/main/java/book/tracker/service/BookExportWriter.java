@@ -0,0 +1,189 @@
+package book.tracker.service;
+
+import book.tracker.dto.BookSummary;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Encodes book rows as CSV or NDJSON into a fixed-size buffer and drains it
+ * to a channel whenever it fills up. Memory use is constant regardless of
+ * how many rows are written.
+ */
+final class BookExportWriter {
+
+    static final int BUFFER_SIZE = 64 * 1024;
+
+    private final WritableByteChannel channel;
+    private final ExportFormat format;
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+    private final StringBuilder line = new StringBuilder(512);
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+
+    private long rowCount;
+
+    BookExportWriter(WritableByteChannel aChannel, ExportFormat aFormat) {
+        this.channel = aChannel;
+        this.format = aFormat;
+    }
+
+    /**
+     * Write the format's header line, if it has one
+     */
+    void writeHeader() throws IOException {
+        if (format.getHeader() == null) {
+            return;
+        }
+        line.setLength(0);
+        line.append(format.getHeader()).append('\n');
+        encodeLine();
+    }
+
+    /**
+     * Append one book as a single line
+     */
+    void write(BookSummary book) throws IOException {
+        line.setLength(0);
+        if (format == ExportFormat.CSV) {
+            appendCsv(book);
+        } else {
+            appendJson(book);
+        }
+        line.append('\n');
+        encodeLine();
+        rowCount++;
+    }
+
+    /**
+     * Drain whatever is left in the buffer
+     */
+    void finish() throws IOException {
+        drain();
+    }
+
+    long getRowCount() {
+        return rowCount;
+    }
+
+    // ===============================================
+    // PRIVATE HELPER METHODS
+    // ===============================================
+
+    private void appendCsv(BookSummary book) {
+        line.append(book.id()).append(',');
+        appendCsvField(book.title());
+        line.append(',');
+        appendCsvField(book.author());
+        line.append(',');
+        if (book.publishedDate() != null) {
+            line.append(book.publishedDate());
+        }
+        line.append(',');
+        appendCsvField(book.genre());
+    }
+
+    /**
+     * RFC 4180 quoting: only quote fields that need it, double embedded quotes
+     */
+    private void appendCsvField(String value) {
+        if (value == null) {
+            return;
+        }
+        boolean needsQuotes = false;
+        for (int i = 0; i < value.length() && !needsQuotes; i++) {
+            char c = value.charAt(i);
+            needsQuotes = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!needsQuotes) {
+            line.append(value);
+            return;
+        }
+        line.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                line.append('"');
+            }
+            line.append(c);
+        }
+        line.append('"');
+    }
+
+    /**
+     * Same field names as the JSON returned by GET /api/books
+     */
+    private void appendJson(BookSummary book) {
+        line.append("{\"id\":").append(book.id());
+        line.append(",\"title\":");
+        appendJsonString(book.title());
+        line.append(",\"author\":");
+        appendJsonString(book.author());
+        line.append(",\"publishedDate\":");
+        appendJsonString(book.publishedDate() == null ? null : book.publishedDate().toString());
+        line.append(",\"genre\":");
+        appendJsonString(book.genre());
+        line.append('}');
+    }
+
+    private void appendJsonString(String value) {
+        if (value == null) {
+            line.append("null");
+            return;
+        }
+        line.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> line.append("\\\"");
+                case '\\' -> line.append("\\\\");
+                case '\n' -> line.append("\\n");
+                case '\r' -> line.append("\\r");
+                case '\t' -> line.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        line.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        line.append(c);
+                    }
+                }
+            }
+        }
+        line.append('"');
+    }
+
+    /**
+     * Encode the current line into the buffer, draining to the channel on overflow
+     */
+    private void encodeLine() throws IOException {
+        CharBuffer chars = CharBuffer.wrap(line);
+        encoder.reset();
+
+        CoderResult result = encoder.encode(chars, buffer, true);
+        while (result.isOverflow()) {
+            drain();
+            result = encoder.encode(chars, buffer, true);
+        }
+
+        result = encoder.flush(buffer);
+        while (result.isOverflow()) {
+            drain();
+            result = encoder.flush(buffer);
+        }
+    }
+
+    private void drain() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
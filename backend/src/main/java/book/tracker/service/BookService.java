@@ -1,20 +1,74 @@
 package book.tracker.service;
+import book.tracker.dto.BookOperation;
+import book.tracker.dto.BookOperationResult;
+import book.tracker.dto.BookSummary;
+import book.tracker.dto.HistogramBucket;
 import book.tracker.entity.Book;
+import book.tracker.index.PublicationDateIndex;
 import book.tracker.repository.BookRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
-
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
 
 @Service
 public class BookService {
+    /** Upper bound on operations accepted by one batch request */
+    public static final int MAX_BATCH_SIZE = 1000;
+
+    /** Upper bound on the page size of GET /api/books?page= */
+    public static final int MAX_PAGE_SIZE = 500;
+
+    /** Upper bound on IDs per IN query when loading books found through the date index */
+    private static final int ID_CHUNK_SIZE = 500;
+
+    /** Earliest and latest dates used when a date range bound is left open */
+    private static final LocalDate MIN_DATE = LocalDate.of(1, 1, 1);
+    private static final LocalDate MAX_DATE = LocalDate.of(9999, 12, 31);
+
+    /** How long countBooks reuses a counted total before counting again */
+    private static final long COUNT_CACHE_NANOS = TimeUnit.SECONDS.toNanos(60);
+
     private final BookRepository bookRepository;
+    private final PublicationDateIndex publicationDateIndex;
+
+    // Total number of books (-1 until counted), adjusted by committed writes
+    // between counts so list requests do not scan the table each time
+    private final AtomicLong cachedCount = new AtomicLong(-1);
+    private volatile long countedAtNanos;
 
     @Autowired
-    public BookService(BookRepository bookRepository) {
+    public BookService(BookRepository bookRepository, PublicationDateIndex publicationDateIndex) {
         this.bookRepository = bookRepository;
+        this.publicationDateIndex = publicationDateIndex;
     }
 
     // ===============================================
@@ -23,10 +77,56 @@ public class BookService {
 
     /**
      * Get all books
-     * @return List of all books in the database
+     * @return Summaries of all books in the database
+     */
+    @Transactional(readOnly = true)
+    public List<BookSummary> getAllBooks() {
+        return bookRepository.findAllSummaries();
+    }
+
+    /**
+     * Get one page of books by offset, ordered by ID
+     * Prefer getBooksAfterId when the previous page is known: offset paging
+     * has to skip every earlier row.
+     * @param page Zero-based page index
+     * @param size Books per page (1 to MAX_PAGE_SIZE)
+     * @throws IllegalArgumentException if page or size is out of range
      */
-    public List<Book> getAllBooks() {
-        return bookRepository.findAll();
+    @Transactional(readOnly = true)
+    public List<BookSummary> getBooksPage(int page, int size) {
+        if (page < 0) {
+            throw new IllegalArgumentException("Page index cannot be negative");
+        }
+        validatePageSize(size);
+        return bookRepository.findSummaryPage(PageRequest.of(page, size));
+    }
+
+    /**
+     * Get the next books after an ID, ordered by ID (keyset paging)
+     * @param afterId Last ID of the previous page (0 for the first page)
+     * @param size Books per page (1 to MAX_PAGE_SIZE)
+     * @throws IllegalArgumentException if size is out of range
+     */
+    @Transactional(readOnly = true)
+    public List<BookSummary> getBooksAfterId(long afterId, int size) {
+        validatePageSize(size);
+        return bookRepository.findSummariesAfterId(afterId, PageRequest.of(0, size));
+    }
+
+    /**
+     * Total number of books, counted at most once per COUNT_CACHE_NANOS
+     * Writes made through this service adjust the cached total as they commit,
+     * so it is exact on a single node and at most a minute stale otherwise.
+     */
+    @Transactional(readOnly = true)
+    public long countBooks() {
+        long count = cachedCount.get();
+        if (count < 0 || System.nanoTime() - countedAtNanos > COUNT_CACHE_NANOS) {
+            count = bookRepository.count();
+            cachedCount.set(count);
+            countedAtNanos = System.nanoTime();
+        }
+        return count;
     }
 
     /**
@@ -34,6 +134,7 @@ public class BookService {
      * @param id Book ID
      * @return Optional containing the book if found
      */
+    @Transactional(readOnly = true)
     public Optional<Book> getBookById(Long id) {
         return bookRepository.findById(id);
     }
@@ -44,6 +145,7 @@ public class BookService {
      * @return Created book with generated ID
      * @throws IllegalArgumentException if book already exists or data is invalid
      */
+    @Transactional
     public Book createBook(Book book) {
         // Business rule: Validate required fields
         validateBookData(book);
@@ -61,7 +163,9 @@ public class BookService {
             book.setGenre("Unspecified");
         }
 
-        return bookRepository.save(book);
+        Book savedBook = bookRepository.save(book);
+        applyAfterCommit(Collections.singletonMap(savedBook.getId(), savedBook.getPublishedDate()), 1);
+        return savedBook;
     }
 
     /**
@@ -71,6 +175,7 @@ public class BookService {
      * @return Updated book
      * @throws IllegalArgumentException if book not found or data invalid
      */
+    @Transactional
     public Book updateBook(Long id, Book updatedBook) {
         Optional<Book> existingBookOpt = bookRepository.findById(id);
 
@@ -101,7 +206,9 @@ public class BookService {
         existingBook.setPublishedDate(updatedBook.getPublishedDate());
         existingBook.setGenre(updatedBook.getGenre());
 
-        return bookRepository.save(existingBook);
+        Book savedBook = bookRepository.save(existingBook);
+        applyAfterCommit(Collections.singletonMap(savedBook.getId(), savedBook.getPublishedDate()), 0);
+        return savedBook;
     }
 
     /**
@@ -109,71 +216,311 @@ public class BookService {
      * @param id Book ID to delete
      * @throws IllegalArgumentException if book not found
      */
+    @Transactional
     public void deleteBook(Long id) {
         if (!bookRepository.existsById(id)) {
             throw new IllegalArgumentException("Book with ID " + id + " not found");
         }
 
         bookRepository.deleteById(id);
+        applyAfterCommit(Collections.singletonMap(id, null), -1);
+    }
+
+    // ===============================================
+    // BATCH OPERATIONS
+    // ===============================================
+
+    /**
+     * Apply an ordered list of create/update/delete operations in one transaction
+     * All referenced IDs are loaded with a single IN query and duplicates are checked
+     * with a single query; the batch is then validated in order against that snapshot.
+     * If any operation is invalid nothing is applied and the valid ones report 424.
+     * @param operations Operations in the order they should be applied
+     * @return One result per operation, in request order
+     * @throws IllegalArgumentException if the batch is empty or too large
+     */
+    @Transactional
+    public List<BookOperationResult> applyBatch(List<BookOperation> operations) {
+        if (operations == null || operations.isEmpty()) {
+            throw new IllegalArgumentException("Batch must contain at least one operation");
+        }
+        if (operations.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("Batch cannot exceed " + MAX_BATCH_SIZE + " operations");
+        }
+
+        // One IN query for every book referenced by ID
+        Set<Long> referencedIds = new HashSet<>();
+        Set<String> titles = new HashSet<>();
+        for (BookOperation operation : operations) {
+            if (operation != null && operation.id() != null) {
+                referencedIds.add(operation.id());
+            }
+            if (operation != null && operation.book() != null && operation.book().getTitle() != null) {
+                titles.add(operation.book().getTitle());
+            }
+        }
+        Map<Long, Book> liveBooks = new HashMap<>();
+        for (Book book : bookRepository.findAllById(referencedIds)) {
+            liveBooks.put(book.getId(), book);
+        }
+
+        // One query for every existing book that could clash on title + author
+        Map<String, Long> keyOwners = new HashMap<>();
+        if (!titles.isEmpty()) {
+            for (BookSummary existing : bookRepository.findSummariesByTitleIn(titles)) {
+                keyOwners.putIfAbsent(duplicateKey(existing.title(), existing.author()), existing.id());
+            }
+        }
+        for (Book book : liveBooks.values()) {
+            keyOwners.putIfAbsent(duplicateKey(book.getTitle(), book.getAuthor()), book.getId());
+        }
+
+        // Validate in order, tracking how earlier operations change titles and authors.
+        // Validation removes deleted books from its own copy; the apply step below
+        // still needs every loaded entity (e.g. an update followed by a delete).
+        List<BookOperationResult> results = new ArrayList<>(operations.size());
+        Map<Long, Book> remainingBooks = new HashMap<>(liveBooks);
+        Map<Long, String> currentKeys = new HashMap<>();
+        boolean failed = false;
+        for (int i = 0; i < operations.size(); i++) {
+            BookOperationResult result = validateOperation(i, operations.get(i), remainingBooks, keyOwners, currentKeys);
+            failed |= result.isFailed();
+            results.add(result);
+        }
+
+        if (failed) {
+            for (int i = 0; i < results.size(); i++) {
+                BookOperationResult result = results.get(i);
+                if (!result.isFailed()) {
+                    results.set(i, new BookOperationResult(i, result.op(), result.id(), 424, null,
+                            "Not applied because another operation in the batch failed"));
+                }
+            }
+            return results;
+        }
+
+        // Apply: updates change managed entities and are flushed as one JDBC batch;
+        // deletes go out as a single bulk statement
+        List<Book> created = new ArrayList<>();
+        List<Integer> createdIndexes = new ArrayList<>();
+        List<Long> deletedIds = new ArrayList<>();
+        for (int i = 0; i < operations.size(); i++) {
+            BookOperation operation = operations.get(i);
+            switch (operation.op()) {
+                case CREATE -> {
+                    Book data = operation.book();
+                    Book book = new Book(data.getTitle(), data.getAuthor(), data.getPublishedDate(), data.getGenre());
+                    if (book.getGenre() == null || book.getGenre().trim().isEmpty()) {
+                        book.setGenre("Unspecified");
+                    }
+                    created.add(book);
+                    createdIndexes.add(i);
+                }
+                case UPDATE -> {
+                    Book existingBook = liveBooks.get(operation.id());
+                    existingBook.setTitle(operation.book().getTitle());
+                    existingBook.setAuthor(operation.book().getAuthor());
+                    existingBook.setPublishedDate(operation.book().getPublishedDate());
+                    existingBook.setGenre(operation.book().getGenre());
+                    results.set(i, new BookOperationResult(i, operation.op(), operation.id(), 200,
+                            BookSummary.from(existingBook), null));
+                }
+                case DELETE -> deletedIds.add(operation.id());
+            }
+        }
+
+        // Deletes run before inserts so a create may reuse the title and author of
+        // a book deleted earlier in the same batch
+        if (!deletedIds.isEmpty()) {
+            bookRepository.deleteAllByIdInBatch(deletedIds);
+        }
+
+        List<Book> saved = bookRepository.saveAll(created);
+        for (int j = 0; j < saved.size(); j++) {
+            Book book = saved.get(j);
+            int index = createdIndexes.get(j);
+            results.set(index, new BookOperationResult(index, BookOperation.Type.CREATE, book.getId(), 201,
+                    BookSummary.from(book), null));
+        }
+
+        // One index update for the whole batch; later operations on an ID win
+        Map<Long, LocalDate> dateChanges = new HashMap<>();
+        for (BookOperationResult result : results) {
+            if (result.op() == BookOperation.Type.DELETE) {
+                dateChanges.put(result.id(), null);
+            } else {
+                dateChanges.put(result.id(), result.book().publishedDate());
+            }
+        }
+        applyAfterCommit(dateChanges, saved.size() - deletedIds.size());
+
+        return results;
     }
 
     // ===============================================
     // SEARCH AND FILTER OPERATIONS
+    // Read-only: results are BookSummary projections, not managed entities
     // ===============================================
 
     /**
      * Search books by title (partial match, case-insensitive)
      */
-    public List<Book> searchBooksByTitle(String title) {
+    @Transactional(readOnly = true)
+    public List<BookSummary> searchBooksByTitle(String title) {
         if (title == null || title.trim().isEmpty()) {
             return getAllBooks();
         }
-        return bookRepository.findByTitleContainingIgnoreCase(title.trim());
+        return bookRepository.findSummariesByTitleContainingIgnoreCase(title.trim());
     }
 
     /**
      * Search books by author (partial match, case-insensitive)
      */
-    public List<Book> searchBooksByAuthor(String author) {
+    @Transactional(readOnly = true)
+    public List<BookSummary> searchBooksByAuthor(String author) {
         if (author == null || author.trim().isEmpty()) {
             return getAllBooks();
         }
-        return bookRepository.findByAuthorContainingIgnoreCase(author.trim());
+        return bookRepository.findSummariesByAuthorContainingIgnoreCase(author.trim());
     }
 
     /**
      * Search books by title OR author
      */
-    public List<Book> searchBooks(String searchTerm) {
+    @Transactional(readOnly = true)
+    public List<BookSummary> searchBooks(String searchTerm) {
         if (searchTerm == null || searchTerm.trim().isEmpty()) {
             return getAllBooks();
         }
-        return bookRepository.findByTitleOrAuthorContaining(searchTerm.trim());
+        return bookRepository.findSummariesByTitleOrAuthorContaining(searchTerm.trim());
     }
 
     /**
      * Get books by genre
      */
-    public List<Book> getBooksByGenre(String genre) {
+    @Transactional(readOnly = true)
+    public List<BookSummary> getBooksByGenre(String genre) {
         if (genre == null || genre.trim().isEmpty()) {
             return getAllBooks();
         }
-        return bookRepository.findByGenreIgnoreCase(genre.trim());
+        return bookRepository.findSummariesByGenreIgnoreCase(genre.trim());
     }
 
+    // ===============================================
+    // PUBLICATION DATE QUERIES
+    // Served from the in-memory PublicationDateIndex once it is loaded,
+    // falling back to the database before that
+    // ===============================================
+
     /**
-     * Get books published after a specific year
+     * Get one page of books published after a specific year (after January 1st of that year),
+     * ordered by date then ID
+     * @throws IllegalArgumentException if the paging is invalid
+     * @throws java.time.DateTimeException if the year is outside the supported date range
      */
-    public List<Book> getBooksPublishedAfter(int year) {
-        LocalDate date = LocalDate.of(year, 1, 1);
-        return bookRepository.findByPublishedDateAfter(date);
+    @Transactional(readOnly = true)
+    public Page<BookSummary> getBooksPublishedAfter(int year, int page, int size) {
+        return getBooksPublishedBetween(LocalDate.of(year, 1, 1).plusDays(1), null, page, size);
     }
 
     /**
      * Get recently published books (top 5)
      */
-    public List<Book> getRecentBooks() {
-        return bookRepository.findTop5ByOrderByPublishedDateDesc();
+    @Transactional(readOnly = true)
+    public List<BookSummary> getRecentBooks() {
+        return getRecentBooks(5);
+    }
+
+    /**
+     * Get the most recently published books, newest first
+     * @param limit Number of books (1 to MAX_PAGE_SIZE)
+     * @throws IllegalArgumentException if limit is out of range
+     */
+    @Transactional(readOnly = true)
+    public List<BookSummary> getRecentBooks(int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        if (!publicationDateIndex.isReady()) {
+            return bookRepository.findSummariesByPublishedDateIsNotNullOrderByPublishedDateDescIdDesc(
+                    PageRequest.of(0, limit));
+        }
+        return loadSummaries(publicationDateIndex.findNewestIds(limit));
+    }
+
+    /**
+     * Get one page of books published in a date range, ordered by date then ID
+     * @param from First publication date (inclusive), null for no lower bound
+     * @param to Last publication date (inclusive), null for no upper bound
+     * @throws IllegalArgumentException if the range or paging is invalid
+     */
+    @Transactional(readOnly = true)
+    public Page<BookSummary> getBooksPublishedBetween(LocalDate from, LocalDate to, int page, int size) {
+        validateDateRange(from, to);
+        if (page < 0) {
+            throw new IllegalArgumentException("Page index cannot be negative");
+        }
+        validatePageSize(size);
+
+        PageRequest pageRequest = PageRequest.of(page, size, Sort.by("publishedDate", "id"));
+        if (!publicationDateIndex.isReady()) {
+            // Clamp to MIN_DATE..MAX_DATE: the database rejects dates far outside it
+            LocalDate start = from == null || from.isBefore(MIN_DATE) ? MIN_DATE : from;
+            LocalDate end = to == null || to.isAfter(MAX_DATE) ? MAX_DATE : to;
+            if (start.isAfter(end)) {
+                return new PageImpl<>(List.of(), pageRequest, 0);
+            }
+            return bookRepository.findSummariesByPublishedDateBetween(start, end, pageRequest);
+        }
+
+        long[] ids = publicationDateIndex.findIds(from, to, (int) Math.min(pageRequest.getOffset(), Integer.MAX_VALUE), size);
+        return new PageImpl<>(loadSummaries(ids), pageRequest, publicationDateIndex.count(from, to));
+    }
+
+    /**
+     * Count books published in a date range (inclusive, null bounds are open)
+     * @throws IllegalArgumentException if from is after to
+     */
+    @Transactional(readOnly = true)
+    public long countBooksPublishedBetween(LocalDate from, LocalDate to) {
+        validateDateRange(from, to);
+        if (!publicationDateIndex.isReady()) {
+            return bookRepository.countByPublishedDateBetween(
+                    from == null ? MIN_DATE : from, to == null ? MAX_DATE : to);
+        }
+        return publicationDateIndex.count(from, to);
+    }
+
+    /**
+     * Number of books per publication year or decade, oldest first
+     * @param bucket "year" or "decade"
+     * @throws IllegalArgumentException if the bucket is not supported
+     */
+    @Transactional(readOnly = true)
+    public List<HistogramBucket> getPublicationHistogram(String bucket) {
+        int bucketYears;
+        if ("year".equalsIgnoreCase(bucket)) {
+            bucketYears = 1;
+        } else if ("decade".equalsIgnoreCase(bucket)) {
+            bucketYears = 10;
+        } else {
+            throw new IllegalArgumentException("Histogram bucket must be 'year' or 'decade'");
+        }
+
+        if (publicationDateIndex.isReady()) {
+            return publicationDateIndex.histogram(bucketYears);
+        }
+
+        Map<Integer, Long> counts = new HashMap<>();
+        for (Object[] row : bookRepository.countByPublishedYear()) {
+            int startYear = Math.floorDiv(((Number) row[0]).intValue(), bucketYears) * bucketYears;
+            counts.merge(startYear, ((Number) row[1]).longValue(), Long::sum);
+        }
+        List<HistogramBucket> buckets = new ArrayList<>();
+        counts.forEach((startYear, count) ->
+                buckets.add(new HistogramBucket(startYear, startYear + bucketYears - 1, count)));
+        buckets.sort(Comparator.comparingInt(HistogramBucket::startYear));
+        return buckets;
     }
 
     // ===============================================
@@ -183,6 +530,7 @@ public class BookService {
     /**
      * Get total number of books
      */
+    @Transactional(readOnly = true)
     public long getTotalBookCount() {
         return bookRepository.count();
     }
@@ -190,6 +538,7 @@ public class BookService {
     /**
      * Get all unique genres
      */
+    @Transactional(readOnly = true)
     public List<String> getAllGenres() {
         return bookRepository.findDistinctGenres();
     }
@@ -197,6 +546,7 @@ public class BookService {
     /**
      * Count books by genre
      */
+    @Transactional(readOnly = true)
     public long countBooksByGenre(String genre) {
         if (genre == null || genre.trim().isEmpty()) {
             return 0;
@@ -204,10 +554,232 @@ public class BookService {
         return bookRepository.countByGenre(genre.trim());
     }
 
+    // ===============================================
+    // EXPORT
+    // Rows are streamed in ID order through a server-side cursor and a
+    // fixed-size buffer, so memory use does not grow with the catalog.
+    // Passing the last exported ID as afterId resumes an interrupted export;
+    // resumed CSV output has no header so it can be appended to the first part.
+    // Gzip output cannot be resumed: an interrupted member has no trailer.
+    // ===============================================
+
+    /**
+     * Export books to an output stream (e.g. an HTTP response)
+     * @param out Destination stream, left open
+     * @param format CSV or NDJSON
+     * @param gzip Whether to gzip the output
+     * @param afterId Only export books with an ID greater than this (0 for all)
+     * @return Number of books written
+     */
+    @Transactional(readOnly = true)
+    public long exportBooks(OutputStream out, ExportFormat format, boolean gzip, long afterId) throws IOException {
+        if (gzip && afterId > 0) {
+            throw new IllegalArgumentException("Gzip exports cannot be resumed");
+        }
+        if (!gzip) {
+            return exportBooks(Channels.newChannel(out), format, afterId, afterId <= 0);
+        }
+
+        GZIPOutputStream gzipOut = new GZIPOutputStream(out, BookExportWriter.BUFFER_SIZE);
+        long rows = exportBooks(Channels.newChannel(gzipOut), format, afterId, true);
+        gzipOut.finish();
+        return rows;
+    }
+
+    /**
+     * Export books to a file through a FileChannel
+     * With resume, the file is first cut back to its last complete row and the
+     * export continues after that row's ID, so a file left behind by a crash or
+     * a killed process can be completed in place. Otherwise it is overwritten.
+     * @param resume Continue an existing file instead of starting over
+     * @return Number of books written
+     * @throws IllegalArgumentException for gzip with resume, or a file that is not an export in this format
+     */
+    @Transactional(readOnly = true)
+    public long exportBooksToFile(Path target, ExportFormat format, boolean gzip, boolean resume) throws IOException {
+        if (gzip && resume) {
+            throw new IllegalArgumentException("Gzip exports cannot be resumed");
+        }
+
+        try (FileChannel file = FileChannel.open(target,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ExportCheckpoint checkpoint = resume
+                    ? ExportCheckpoint.find(file, format)
+                    : new ExportCheckpoint(0, 0, false);
+            file.truncate(checkpoint.length());
+            file.position(checkpoint.length());
+
+            if (!gzip) {
+                return exportBooks(file, format, checkpoint.lastId(), !checkpoint.hasHeader());
+            }
+
+            GZIPOutputStream gzipOut = new GZIPOutputStream(Channels.newOutputStream(file), BookExportWriter.BUFFER_SIZE);
+            long rows = exportBooks(Channels.newChannel(gzipOut), format, 0, true);
+            gzipOut.finish();
+            return rows;
+        }
+    }
+
     // ===============================================
     // PRIVATE HELPER METHODS
     // ===============================================
 
+    /**
+     * Update the publication date index and the cached count once the current
+     * transaction commits (immediately if there is none), so they never see
+     * rolled-back writes
+     * @param changes New publication date per book ID (null = removed)
+     * @param addedBooks Books created minus books deleted
+     */
+    private void applyAfterCommit(Map<Long, LocalDate> changes, long addedBooks) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            applyCommitted(changes, addedBooks);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                applyCommitted(changes, addedBooks);
+            }
+        });
+    }
+
+    private void applyCommitted(Map<Long, LocalDate> changes, long addedBooks) {
+        publicationDateIndex.apply(changes);
+        if (addedBooks != 0) {
+            cachedCount.updateAndGet(count -> count < 0 ? count : Math.max(0, count + addedBooks));
+        }
+    }
+
+    private static void validatePageSize(int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+    }
+
+    /**
+     * Load summaries for IDs found in the index, keeping the index order
+     * Queries in chunks to stay under database bind parameter limits; books
+     * deleted since the index was read are skipped.
+     */
+    private List<BookSummary> loadSummaries(long[] ids) {
+        Map<Long, BookSummary> byId = new HashMap<>();
+        for (int start = 0; start < ids.length; start += ID_CHUNK_SIZE) {
+            List<Long> chunk = new ArrayList<>();
+            for (int i = start; i < Math.min(ids.length, start + ID_CHUNK_SIZE); i++) {
+                chunk.add(ids[i]);
+            }
+            for (BookSummary summary : bookRepository.findSummariesByIdIn(chunk)) {
+                byId.put(summary.id(), summary);
+            }
+        }
+
+        List<BookSummary> summaries = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            BookSummary summary = byId.get(id);
+            if (summary != null) {
+                summaries.add(summary);
+            }
+        }
+        return summaries;
+    }
+
+    private void validateDateRange(LocalDate from, LocalDate to) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new IllegalArgumentException("Start date cannot be after end date");
+        }
+    }
+
+    /**
+     * Stream rows from the cursor into the channel
+     */
+    private long exportBooks(WritableByteChannel channel, ExportFormat format, long afterId, boolean header)
+            throws IOException {
+        BookExportWriter writer = new BookExportWriter(channel, format);
+        if (header) {
+            writer.writeHeader();
+        }
+
+        try (Stream<BookSummary> rows = bookRepository.streamSummariesAfterId(afterId)) {
+            Iterator<BookSummary> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                writer.write(iterator.next());
+            }
+        }
+
+        writer.finish();
+        return writer.getRowCount();
+    }
+
+    /**
+     * Validate one batch operation against the batch's view of the database
+     * Updates liveBooks, keyOwners and currentKeys so later operations see its effect.
+     */
+    private BookOperationResult validateOperation(int index, BookOperation operation, Map<Long, Book> liveBooks,
+                                                  Map<String, Long> keyOwners, Map<Long, String> currentKeys) {
+        if (operation == null || operation.op() == null) {
+            return new BookOperationResult(index, null, null, 400, null, "Operation type is required");
+        }
+
+        BookOperation.Type op = operation.op();
+        Long id = operation.id();
+        if (op != BookOperation.Type.CREATE && id == null) {
+            return new BookOperationResult(index, op, null, 400, null, "Book ID is required");
+        }
+        if (op != BookOperation.Type.CREATE && !liveBooks.containsKey(id)) {
+            return new BookOperationResult(index, op, id, 404, null, "Book with ID " + id + " not found");
+        }
+
+        if (op == BookOperation.Type.DELETE) {
+            String key = currentKeys.computeIfAbsent(id,
+                    bookId -> duplicateKey(liveBooks.get(bookId).getTitle(), liveBooks.get(bookId).getAuthor()));
+            keyOwners.remove(key, id);
+            liveBooks.remove(id);
+            return new BookOperationResult(index, op, id, 204, null, null);
+        }
+
+        Book book = operation.book();
+        try {
+            validateBookData(book);
+        } catch (IllegalArgumentException e) {
+            return new BookOperationResult(index, op, id, 400, null, e.getMessage());
+        }
+
+        String newKey = duplicateKey(book.getTitle(), book.getAuthor());
+        if (op == BookOperation.Type.CREATE) {
+            if (keyOwners.containsKey(newKey)) {
+                return new BookOperationResult(index, op, null, 400, null,
+                        String.format("Book with title '%s' by author '%s' already exists",
+                                book.getTitle(), book.getAuthor()));
+            }
+            // Not persisted yet, so claim the key with a placeholder ID
+            keyOwners.put(newKey, (long) -(index + 1));
+            return new BookOperationResult(index, op, null, 201, null, null);
+        }
+
+        String oldKey = currentKeys.computeIfAbsent(id,
+                bookId -> duplicateKey(liveBooks.get(bookId).getTitle(), liveBooks.get(bookId).getAuthor()));
+        if (!oldKey.equals(newKey)) {
+            Long owner = keyOwners.get(newKey);
+            if (owner != null && !owner.equals(id)) {
+                return new BookOperationResult(index, op, id, 400, null,
+                        String.format("Another book with title '%s' by author '%s' already exists",
+                                book.getTitle(), book.getAuthor()));
+            }
+            keyOwners.remove(oldKey, id);
+            keyOwners.put(newKey, id);
+            currentKeys.put(id, newKey);
+        }
+        return new BookOperationResult(index, op, id, 200, null, null);
+    }
+
+    /**
+     * Key used for the title + author duplicate rule (same exact match as existsByTitleAndAuthor)
+     */
+    private static String duplicateKey(String title, String author) {
+        return title + '\0' + author;
+    }
+
     /**
      * Validate book data according to business rules
      */
@@ -0,0 +1,92 @@
+package book.tracker.service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Where an interrupted export file can be resumed: the end of its last
+ * complete row and that row's ID
+ * An interruption can stop the file mid-row (rows are written in 64 KiB
+ * chunks), so everything after the last row terminator is discarded. CSV
+ * fields may contain quoted line breaks, so CSV rows are found by tracking
+ * quotes rather than by looking for the last newline.
+ *
+ * @param length Bytes to keep; the file is truncated to this before appending
+ * @param lastId ID of the last complete row, 0 if there is none
+ * @param hasHeader Whether the kept part already starts with the CSV header
+ */
+record ExportCheckpoint(long length, long lastId, boolean hasHeader) {
+
+    private static final int ID_PREFIX_LENGTH = 32;
+    private static final String JSON_ID_PREFIX = "{\"id\":";
+
+    /**
+     * Scan an export file written by BookExportWriter
+     * @throws IllegalArgumentException if the last complete row does not start with an ID
+     */
+    static ExportCheckpoint find(FileChannel file, ExportFormat format) throws IOException {
+        boolean csv = format == ExportFormat.CSV;
+        ByteBuffer buffer = ByteBuffer.allocate(BookExportWriter.BUFFER_SIZE);
+        boolean quoted = false;
+        long position = 0;
+        long rowStart = 0;
+        long lastRowStart = -1;
+        long rows = 0;
+
+        while (file.read(buffer, position) > 0) {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                byte b = buffer.get();
+                position++;
+                if (csv && b == '"') {
+                    // An escaped quote ("") toggles twice, so it leaves the state unchanged
+                    quoted = !quoted;
+                } else if (b == '\n' && !quoted) {
+                    lastRowStart = rowStart;
+                    rowStart = position;
+                    rows++;
+                }
+            }
+            buffer.clear();
+        }
+
+        if (rows == 0) {
+            return new ExportCheckpoint(0, 0, false);
+        }
+        // The first CSV line is the header
+        if (csv && rows == 1) {
+            return new ExportCheckpoint(rowStart, 0, true);
+        }
+        return new ExportCheckpoint(rowStart, readId(file, lastRowStart, format), csv);
+    }
+
+    // ===============================================
+    // PRIVATE HELPER METHODS
+    // ===============================================
+
+    private static long readId(FileChannel file, long rowStart, ExportFormat format) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(ID_PREFIX_LENGTH);
+        file.read(buffer, rowStart);
+        buffer.flip();
+
+        int index = 0;
+        if (format == ExportFormat.NDJSON) {
+            for (; index < JSON_ID_PREFIX.length(); index++) {
+                if (index >= buffer.limit() || buffer.get(index) != JSON_ID_PREFIX.charAt(index)) {
+                    throw new IllegalArgumentException("Last row of the file does not start with " + JSON_ID_PREFIX);
+                }
+            }
+        }
+
+        long id = 0;
+        int digits = 0;
+        for (; index < buffer.limit() && Character.isDigit(buffer.get(index)); index++, digits++) {
+            id = id * 10 + (buffer.get(index) - '0');
+        }
+        if (digits == 0 || digits > 18) {
+            throw new IllegalArgumentException("Last row of the file does not start with a book ID");
+        }
+        return id;
+    }
+}
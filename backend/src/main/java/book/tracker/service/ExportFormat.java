@@ -0,0 +1,52 @@
+package book.tracker.service;
+
+import java.util.Locale;
+
+/**
+ * Output formats supported by the catalog export
+ */
+public enum ExportFormat {
+
+    CSV("text/csv", "csv", "id,title,author,published_date,genre"),
+    NDJSON("application/x-ndjson", "ndjson", null);
+
+    private final String contentType;
+    private final String extension;
+    private final String header;
+
+    ExportFormat(String aContentType, String aExtension, String aHeader) {
+        this.contentType = aContentType;
+        this.extension = aExtension;
+        this.header = aHeader;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * Header line written before the first row, or null if the format has none
+     */
+    public String getHeader() {
+        return header;
+    }
+
+    /**
+     * Parse a request parameter such as "csv" or "ndjson"
+     * @throws IllegalArgumentException if the format is not supported
+     */
+    public static ExportFormat fromParameter(String value) {
+        if (value == null || value.trim().isEmpty()) {
+            return CSV;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported export format: " + value);
+        }
+    }
+}
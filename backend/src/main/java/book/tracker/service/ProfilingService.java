@@ -0,0 +1,147 @@
+package book.tracker.service;
+
+import book.tracker.dto.RecordingStatus;
+import book.tracker.profiling.ControllerEvent;
+import book.tracker.profiling.RepositoryEvent;
+import book.tracker.profiling.SerializationEvent;
+import book.tracker.profiling.ServiceEvent;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Manages one bounded, continuous JFR recording for profiling a live node
+ * The recording uses the JDK's "default" settings (designed for continuous use
+ * at around 1% overhead) plus the Book Tracker events, and keeps at most
+ * maxAge / maxSize of data so it can be left running.
+ * Only created when book.profiling.enabled=true.
+ */
+@Service
+@ConditionalOnProperty(prefix = "book.profiling", name = "enabled", havingValue = "true")
+public class ProfilingService {
+
+    public static final Duration MAX_AGE_LIMIT = Duration.ofHours(6);
+    public static final long MAX_SIZE_LIMIT = 256L * 1024 * 1024;
+
+    private static final String RECORDING_NAME = "book-tracker";
+
+    // Events from the default settings that capture secrets or deployment details:
+    // environment variables, system properties, JVM/program arguments and the
+    // command lines of other processes
+    static final List<String> EXCLUDED_EVENTS = List.of(
+            "jdk.InitialEnvironmentVariable",
+            "jdk.InitialSystemProperty",
+            "jdk.JVMInformation",
+            "jdk.SystemProcess",
+            "jdk.ProcessStart");
+
+    private Recording recording;
+
+    /**
+     * Start a new continuous recording, discarding a previous stopped one
+     * @param maxAge How much history to keep
+     * @param maxSizeBytes Upper bound on data kept on disk
+     * @return Status of the new recording
+     * @throws IllegalArgumentException if the limits are out of range
+     * @throws IllegalStateException if a recording is already running
+     */
+    public synchronized RecordingStatus startRecording(Duration maxAge, long maxSizeBytes)
+            throws IOException, ParseException {
+        if (maxAge.isNegative() || maxAge.isZero() || maxAge.compareTo(MAX_AGE_LIMIT) > 0) {
+            throw new IllegalArgumentException("Max age must be between 1 second and " + MAX_AGE_LIMIT.toHours() + " hours");
+        }
+        if (maxSizeBytes <= 0 || maxSizeBytes > MAX_SIZE_LIMIT) {
+            throw new IllegalArgumentException("Max size must be between 1 byte and " + MAX_SIZE_LIMIT + " bytes");
+        }
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            throw new IllegalStateException("A recording is already running");
+        }
+        if (recording != null) {
+            recording.close();
+        }
+
+        Recording newRecording = new Recording(recordingSettings());
+        newRecording.setName(RECORDING_NAME);
+        newRecording.setToDisk(true);
+        newRecording.setMaxAge(maxAge);
+        newRecording.setMaxSize(maxSizeBytes);
+        newRecording.enable(ControllerEvent.class).withThreshold(Duration.ZERO);
+        newRecording.enable(ServiceEvent.class).withThreshold(Duration.ZERO);
+        newRecording.enable(RepositoryEvent.class).withThreshold(Duration.ZERO);
+        newRecording.enable(SerializationEvent.class).withThreshold(Duration.ZERO);
+        newRecording.start();
+
+        recording = newRecording;
+        return toStatus(recording);
+    }
+
+    /**
+     * Status of the current recording, if any
+     */
+    public synchronized Optional<RecordingStatus> getStatus() {
+        return Optional.ofNullable(recording).map(this::toStatus);
+    }
+
+    /**
+     * Write the data recorded so far to a file; a running recording keeps running
+     * @throws IllegalStateException if there is no recording
+     */
+    public synchronized void dumpRecording(Path target) throws IOException {
+        if (recording == null) {
+            throw new IllegalStateException("No recording has been started");
+        }
+        recording.dump(target);
+    }
+
+    /**
+     * Stop the running recording; its data stays available for download
+     * until the next recording is started
+     * @throws IllegalStateException if no recording is running
+     */
+    public synchronized RecordingStatus stopRecording() {
+        if (recording == null || recording.getState() != RecordingState.RUNNING) {
+            throw new IllegalStateException("No recording is running");
+        }
+        recording.stop();
+        return toStatus(recording);
+    }
+
+    // ===============================================
+    // PRIVATE HELPER METHODS
+    // ===============================================
+
+    /**
+     * The JDK "default" settings with the sensitive events switched off
+     */
+    private static Map<String, String> recordingSettings() throws IOException, ParseException {
+        Map<String, String> settings = new HashMap<>(Configuration.getConfiguration("default").getSettings());
+        for (String eventName : EXCLUDED_EVENTS) {
+            settings.put(eventName + "#enabled", "false");
+        }
+        return settings;
+    }
+
+    private RecordingStatus toStatus(Recording aRecording) {
+        Duration maxAge = aRecording.getMaxAge();
+        return new RecordingStatus(
+                aRecording.getId(),
+                aRecording.getName(),
+                aRecording.getState().name(),
+                aRecording.getStartTime(),
+                aRecording.getStopTime(),
+                maxAge == null ? 0 : maxAge.toSeconds(),
+                aRecording.getMaxSize(),
+                aRecording.getSize());
+    }
+}
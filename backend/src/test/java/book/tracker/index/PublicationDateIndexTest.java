@@ -0,0 +1,147 @@
+package book.tracker.index;
+
+import book.tracker.dto.HistogramBucket;
+import book.tracker.repository.BookRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+public class PublicationDateIndexTest {
+
+    private PublicationDateIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new PublicationDateIndex(mock(BookRepository.class), mock(PlatformTransactionManager.class));
+
+        // Index some books
+        Map<Long, LocalDate> books = new HashMap<>();
+        books.put(1L, LocalDate.of(1925, 4, 10));
+        books.put(2L, LocalDate.of(1949, 6, 8));
+        books.put(3L, LocalDate.of(1945, 8, 17));
+        books.put(4L, LocalDate.of(1949, 6, 8));
+        books.put(5L, null);
+        index.apply(books);
+    }
+
+    @Test
+    void testCountAndFindIdsInRange() {
+        LocalDate from = LocalDate.of(1940, 1, 1);
+        LocalDate to = LocalDate.of(1949, 6, 8);
+
+        // Bounds are inclusive and undated books are not indexed
+        assertThat(index.count(from, to)).isEqualTo(3);
+        assertThat(index.count(null, null)).isEqualTo(4);
+
+        // Ordered by date then ID, with paging
+        assertThat(index.findIds(from, to, 0, 10)).containsExactly(3L, 2L, 4L);
+        assertThat(index.findIds(from, to, 1, 1)).containsExactly(2L);
+    }
+
+    @Test
+    void testFindIdsWithoutLimitFromLaterDate() {
+        // A nonzero lower bound plus Integer.MAX_VALUE must not overflow
+        LocalDate from = LocalDate.of(1945, 8, 18);
+        assertThat(index.findIds(from, null, 0, Integer.MAX_VALUE)).containsExactly(2L, 4L);
+        assertThat(index.findIds(from, null, 1, Integer.MAX_VALUE)).containsExactly(4L);
+
+        // Offsets past the end are empty rather than failing
+        assertThat(index.findIds(from, null, Integer.MAX_VALUE, Integer.MAX_VALUE)).isEmpty();
+        assertThat(index.findIds(null, null, Integer.MAX_VALUE - 1, 10)).isEmpty();
+    }
+
+    @Test
+    void testFindNewestIds() {
+        assertThat(index.findNewestIds(2)).containsExactly(4L, 2L);
+        assertThat(index.findNewestIds(10)).containsExactly(4L, 2L, 3L, 1L);
+    }
+
+    @Test
+    void testApplyUpdatesAndRemovals() {
+        // Move one book, remove another
+        Map<Long, LocalDate> changes = new HashMap<>();
+        changes.put(1L, LocalDate.of(2001, 1, 1));
+        changes.put(4L, null);
+        index.apply(changes);
+
+        assertThat(index.findIds(null, null, 0, 10)).containsExactly(3L, 2L, 1L);
+        assertThat(index.findNewestIds(1)).containsExactly(1L);
+    }
+
+    @Test
+    void testDatesBeyondTheEpochDayRangeAreClamped() {
+        // Bounds that do not fit an int epoch day must not fail
+        assertThat(index.count(LocalDate.of(6000000, 1, 1), null)).isZero();
+        assertThat(index.findIds(LocalDate.of(-6000000, 1, 1), LocalDate.MAX, 0, 10)).containsExactly(1L, 3L, 2L, 4L);
+
+        Map<Long, LocalDate> changes = new HashMap<>();
+        changes.put(6L, LocalDate.MAX);
+        index.apply(changes);
+        assertThat(index.findNewestIds(1)).containsExactly(6L);
+        assertThat(index.histogram(1000000)).extracting(HistogramBucket::count).containsExactly(4L, 1L);
+    }
+
+    @Test
+    void testManySingleWritesAcrossSegments() {
+        // Enough books to split segments, then removals to merge them again
+        Map<Long, LocalDate> expected = new HashMap<>();
+        expected.put(1L, LocalDate.of(1925, 4, 10));
+        expected.put(2L, LocalDate.of(1949, 6, 8));
+        expected.put(3L, LocalDate.of(1945, 8, 17));
+        expected.put(4L, LocalDate.of(1949, 6, 8));
+
+        Random random = new Random(42);
+        for (long id = 10; id < 10000; id++) {
+            LocalDate date = LocalDate.of(1900 + random.nextInt(100), 1, 1).plusDays(random.nextInt(365));
+            index.apply(Map.of(id, date));
+            expected.put(id, date);
+        }
+        for (long id = 10; id < 10000; id += 3) {
+            Map<Long, LocalDate> removal = new HashMap<>();
+            removal.put(id, null);
+            index.apply(removal);
+            expected.remove(id);
+        }
+        for (long id = 11; id < 10000; id += 30) {
+            LocalDate date = LocalDate.of(2010, 1, 1);
+            index.apply(Map.of(id, date));
+            expected.put(id, date);
+        }
+
+        long[] ordered = expected.entrySet().stream()
+                .sorted(Map.Entry.<Long, LocalDate>comparingByValue().thenComparing(Map.Entry.comparingByKey()))
+                .mapToLong(Map.Entry::getKey)
+                .toArray();
+        assertThat(index.count(null, null)).isEqualTo(ordered.length);
+        assertThat(index.findIds(null, null, 0, Integer.MAX_VALUE)).containsExactly(ordered);
+        assertThat(index.findIds(null, null, 1500, 3000))
+                .containsExactly(Arrays.copyOfRange(ordered, 1500, 4500));
+        assertThat(index.findNewestIds(1)).containsExactly(ordered[ordered.length - 1]);
+
+        LocalDate from = LocalDate.of(1950, 1, 1);
+        LocalDate to = LocalDate.of(1959, 12, 31);
+        assertThat(index.count(from, to)).isEqualTo(
+                (int) expected.values().stream().filter(d -> !d.isBefore(from) && !d.isAfter(to)).count());
+        assertThat(index.histogram(10).stream().mapToLong(HistogramBucket::count).sum())
+                .isEqualTo(ordered.length);
+    }
+
+    @Test
+    void testHistogram() {
+        assertThat(index.histogram(10)).containsExactly(
+                new HistogramBucket(1920, 1929, 1),
+                new HistogramBucket(1940, 1949, 3));
+
+        assertThat(index.histogram(1)).extracting(HistogramBucket::startYear)
+                .containsExactly(1925, 1945, 1949);
+    }
+}
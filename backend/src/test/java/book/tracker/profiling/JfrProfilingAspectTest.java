@@ -0,0 +1,68 @@
+package book.tracker.profiling;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class JfrProfilingAspectTest {
+
+    @Test
+    void testRowCountOfCollectionLikeResults() {
+        assertThat(JfrProfilingAspect.rowCount(List.of(1, 2, 3))).isEqualTo(3);
+        assertThat(JfrProfilingAspect.rowCount(Set.of())).isZero();
+        assertThat(JfrProfilingAspect.rowCount(Optional.of("book"))).isEqualTo(1);
+        assertThat(JfrProfilingAspect.rowCount(Optional.empty())).isZero();
+
+        // Rows on this page, not the total
+        assertThat(JfrProfilingAspect.rowCount(new PageImpl<>(List.of("a", "b"), PageRequest.of(3, 2), 100)))
+                .isEqualTo(2);
+    }
+
+    @Test
+    void testRowCountUnwrapsResponseEntity() {
+        assertThat(JfrProfilingAspect.rowCount(ResponseEntity.ok(List.of("a", "b")))).isEqualTo(2);
+        assertThat(JfrProfilingAspect.rowCount(ResponseEntity.notFound().build())).isEqualTo(-1);
+    }
+
+    @Test
+    void testRowCountOfOtherResults() {
+        assertThat(JfrProfilingAspect.rowCount(null)).isEqualTo(-1);
+        assertThat(JfrProfilingAspect.rowCount("book")).isEqualTo(-1);
+        assertThat(JfrProfilingAspect.rowCount(42L)).isEqualTo(-1);
+        assertThat(JfrProfilingAspect.rowCount(Stream.of(1, 2))).isEqualTo(-1);
+    }
+
+    @Test
+    void testDescribeSimpleArguments() {
+        Object[] args = {"orwell", 2, null, true, Thread.State.NEW, LocalDate.of(1949, 6, 8)};
+
+        assertThat(JfrProfilingAspect.describeArguments(args))
+                .isEqualTo("orwell, 2, null, true, NEW, 1949-06-08");
+        assertThat(JfrProfilingAspect.describeArguments(new Object[0])).isEmpty();
+    }
+
+    @Test
+    void testDescribeOtherArgumentsWithoutTheirContents() {
+        Object[] args = {List.of(1, 2, 3), "secret".toCharArray(), new Object()};
+
+        assertThat(JfrProfilingAspect.describeArguments(args))
+                .isEqualTo("[3 items], char[], Object");
+    }
+
+    @Test
+    void testDescribeArgumentsIsTruncated() {
+        Object[] args = {"x".repeat(150), "y".repeat(150), "never shown"};
+
+        String description = JfrProfilingAspect.describeArguments(args);
+        assertThat(description).hasSize(203).endsWith("...").doesNotContain("never shown");
+    }
+}
@@ -1,16 +1,20 @@
 package book.tracker.repository;
 
+import book.tracker.dto.BookSummary;
 import book.tracker.entity.Book;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Set;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 @DataJpaTest
@@ -160,4 +164,80 @@ public class BookRepositoryTest {
         assertThat(classicBooks).hasSize(1);
         assertThat(classicBooks.get(0).getGenre()).isEqualTo("Classic Literature");
     }
+
+    @Test
+    void testFindAllSummaries() {
+        // Save books
+        bookRepository.save(testBook1);
+        bookRepository.save(testBook2);
+        entityManager.clear();
+
+        // Summaries carry every column the list view renders
+        List<BookSummary> summaries = bookRepository.findAllSummaries();
+
+        assertThat(summaries).hasSize(2);
+        assertThat(summaries).extracting(BookSummary::title)
+                .containsExactlyInAnyOrder("The Great Gatsby", "1984");
+        assertThat(summaries).allSatisfy(summary -> assertThat(summary.id()).isNotNull());
+    }
+
+    @Test
+    void testFindSummariesByTitleOrAuthorContaining() {
+        // Save books
+        bookRepository.save(testBook1);
+        bookRepository.save(testBook2);
+
+        // Search matches author as well as title
+        List<BookSummary> summaries = bookRepository.findSummariesByTitleOrAuthorContaining("ORWELL");
+
+        assertThat(summaries).hasSize(1);
+        assertThat(summaries.get(0).publishedDate()).isEqualTo(LocalDate.of(1949, 6, 8));
+    }
+
+    @Test
+    void testStreamSummariesAfterId() {
+        // Save books
+        Book first = bookRepository.save(testBook1);
+        Book second = bookRepository.save(testBook2);
+
+        // Full stream is in ID order
+        try (Stream<BookSummary> rows = bookRepository.streamSummariesAfterId(0)) {
+            assertThat(rows.map(BookSummary::id)).containsExactly(first.getId(), second.getId());
+        }
+
+        // Resuming skips everything up to the last seen ID
+        try (Stream<BookSummary> rows = bookRepository.streamSummariesAfterId(first.getId())) {
+            assertThat(rows.map(BookSummary::title)).containsExactly("1984");
+        }
+    }
+
+    @Test
+    void testKeysetAndOffsetPagesAgree() {
+        // Save books
+        Book first = bookRepository.save(testBook1);
+        Book second = bookRepository.save(testBook2);
+
+        // Keyset: the page after the first book
+        assertThat(bookRepository.findSummariesAfterId(0, PageRequest.of(0, 1)))
+                .extracting(BookSummary::id).containsExactly(first.getId());
+        assertThat(bookRepository.findSummariesAfterId(first.getId(), PageRequest.of(0, 1)))
+                .extracting(BookSummary::id).containsExactly(second.getId());
+        assertThat(bookRepository.findSummariesAfterId(second.getId(), PageRequest.of(0, 1))).isEmpty();
+
+        // Offset: the same second page
+        assertThat(bookRepository.findSummaryPage(PageRequest.of(1, 1)))
+                .extracting(BookSummary::id).containsExactly(second.getId());
+    }
+
+    @Test
+    void testFindSummariesByTitleIn() {
+        // Save books
+        bookRepository.save(testBook1);
+        bookRepository.save(testBook2);
+
+        // Exact title match only
+        List<BookSummary> summaries = bookRepository.findSummariesByTitleIn(Set.of("1984", "Gatsby"));
+
+        assertThat(summaries).extracting(BookSummary::author).containsExactly("George Orwell");
+    }
 }
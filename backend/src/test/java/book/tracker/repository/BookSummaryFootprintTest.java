@@ -0,0 +1,117 @@
+package book.tracker.repository;
+
+import book.tracker.entity.Book;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.lang.management.ManagementFactory;
+import java.lang.ref.Reference;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares loading a 10k-row list as managed entities vs BookSummary projections
+ * For each it prints the bytes allocated by the loading thread, the heap still
+ * in use after a full GC while the list (and, for entities, the persistence
+ * context) is referenced, and the number of managed entities.
+ * Excluded from the default build because it is slow and JVM dependent; run with:
+ * mvn test -Pfootprint
+ */
+@Tag("footprint")
+@DataJpaTest
+@ActiveProfiles("test")
+public class BookSummaryFootprintTest {
+
+    private static final int ROWS = 10_000;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @BeforeEach
+    void setUp() {
+        // Create test data
+        List<Book> books = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            books.add(new Book("Title " + i, "Author " + (i % 500), LocalDate.of(1900, 1, 1).plusDays(i), "Fiction"));
+        }
+        bookRepository.saveAll(books);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void testSummariesUseLessHeapThanEntities() {
+        // Warm up both queries so class loading and query plan caching are not measured
+        measure(bookRepository::findAll);
+        measure(bookRepository::findAllSummaries);
+
+        Footprint entities = measure(bookRepository::findAll);
+        Footprint summaries = measure(bookRepository::findAllSummaries);
+
+        print("entities", entities);
+        print("summaries", summaries);
+
+        assertThat(entities.managed()).isEqualTo(ROWS);
+        assertThat(summaries.managed()).isZero();
+        assertThat(summaries.allocatedBytes()).isLessThan(entities.allocatedBytes());
+        assertThat(summaries.retainedBytes()).isLessThan(entities.retainedBytes());
+    }
+
+    // ===============================================
+    // HELPER METHODS
+    // ===============================================
+
+    private record Footprint(long allocatedBytes, long retainedBytes, int managed) {
+    }
+
+    /**
+     * Allocation and retained heap of one query result, starting from an empty persistence context
+     */
+    private Footprint measure(Supplier<List<?>> query) {
+        entityManager.clear();
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long baseline = usedHeapAfterGc();
+
+        long before = threads.getCurrentThreadAllocatedBytes();
+        List<?> rows = query.get();
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+
+        long retained = usedHeapAfterGc() - baseline;
+        int managed = session().getStatistics().getEntityCount();
+        assertThat(rows).hasSize(ROWS);
+        Reference.reachabilityFence(rows);
+
+        entityManager.clear();
+        return new Footprint(allocated, retained, managed);
+    }
+
+    private static long usedHeapAfterGc() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private static void print(String label, Footprint footprint) {
+        System.out.printf("%d rows as %s: allocated %,d bytes (%,d/row), retained %,d bytes (%,d/row), %d managed%n",
+                ROWS, label, footprint.allocatedBytes(), footprint.allocatedBytes() / ROWS,
+                footprint.retainedBytes(), footprint.retainedBytes() / ROWS, footprint.managed());
+    }
+
+    private Session session() {
+        return entityManager.getEntityManager().unwrap(Session.class);
+    }
+}
@@ -0,0 +1,91 @@
+package book.tracker.service;
+
+import book.tracker.dto.BookSummary;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BookExportWriterTest {
+
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    @Test
+    void testCsvQuotesOnlyFieldsThatNeedIt() throws IOException {
+        BookExportWriter writer = new BookExportWriter(Channels.newChannel(out), ExportFormat.CSV);
+        writer.write(new BookSummary(1L, "Plain", "Doe, Jane", LocalDate.of(2001, 2, 3), "Say \"hi\""));
+        writer.write(new BookSummary(2L, "Two\nLines", null, null, null));
+        writer.finish();
+
+        assertThat(output()).isEqualTo(
+                "1,Plain,\"Doe, Jane\",2001-02-03,\"Say \"\"hi\"\"\"\n"
+                + "2,\"Two\nLines\",,,\n");
+        assertThat(writer.getRowCount()).isEqualTo(2);
+    }
+
+    @Test
+    void testJsonEscapesSpecialCharacters() throws IOException {
+        BookExportWriter writer = new BookExportWriter(Channels.newChannel(out), ExportFormat.NDJSON);
+        writer.write(new BookSummary(7L, "A \"quoted\" \\ path", "Tab\there\nnext", null, "bell\u0007"));
+        writer.finish();
+
+        assertThat(output()).isEqualTo(
+                "{\"id\":7,\"title\":\"A \\\"quoted\\\" \\\\ path\",\"author\":\"Tab\\there\\nnext\","
+                + "\"publishedDate\":null,\"genre\":\"bell\\u0007\"}\n");
+    }
+
+    @Test
+    void testHeaderOnlyWhenRequested() throws IOException {
+        BookExportWriter writer = new BookExportWriter(Channels.newChannel(out), ExportFormat.CSV);
+        writer.writeHeader();
+        writer.finish();
+        assertThat(output()).isEqualTo(ExportFormat.CSV.getHeader() + "\n");
+
+        // A resumed export never calls writeHeader, and NDJSON has no header at all
+        out.reset();
+        BookExportWriter ndjson = new BookExportWriter(Channels.newChannel(out), ExportFormat.NDJSON);
+        ndjson.writeHeader();
+        ndjson.finish();
+        assertThat(out.size()).isZero();
+    }
+
+    @Test
+    void testOutputLargerThanBufferIsWrittenIntact() throws IOException {
+        BookExportWriter writer = new BookExportWriter(Channels.newChannel(out), ExportFormat.CSV);
+        StringBuilder expected = new StringBuilder();
+
+        // Multi-byte titles make lines straddle the buffer boundary mid-character
+        String title = "\u00dcn\u00efc\u00f6d\u00e9 t\u00edtulo ".repeat(40);
+        int rows = 0;
+        while (expected.length() < 3 * BookExportWriter.BUFFER_SIZE) {
+            rows++;
+            writer.write(new BookSummary((long) rows, title, "Author", null, "Genre"));
+            expected.append(rows).append(',').append(title).append(",Author,,Genre\n");
+        }
+        writer.finish();
+
+        assertThat(out.size()).isGreaterThan(2 * BookExportWriter.BUFFER_SIZE);
+        assertThat(output()).isEqualTo(expected.toString());
+        assertThat(writer.getRowCount()).isEqualTo(rows);
+    }
+
+    @Test
+    void testSingleLineLargerThanBuffer() throws IOException {
+        BookExportWriter writer = new BookExportWriter(Channels.newChannel(out), ExportFormat.NDJSON);
+        String title = "x".repeat(BookExportWriter.BUFFER_SIZE + 100);
+        writer.write(new BookSummary(1L, title, null, null, null));
+        writer.finish();
+
+        assertThat(output()).isEqualTo(
+                "{\"id\":1,\"title\":\"" + title + "\",\"author\":null,\"publishedDate\":null,\"genre\":null}\n");
+    }
+
+    private String output() {
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
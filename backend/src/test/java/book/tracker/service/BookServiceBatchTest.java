@@ -0,0 +1,159 @@
+package book.tracker.service;
+
+import book.tracker.dto.BookOperation;
+import book.tracker.dto.BookOperationResult;
+import book.tracker.entity.Book;
+import book.tracker.index.PublicationDateIndex;
+import book.tracker.repository.BookRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({BookService.class, PublicationDateIndex.class})
+public class BookServiceBatchTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private BookService bookService;
+
+    private Book gatsby;
+    private Book orwell;
+
+    @BeforeEach
+    void setUp() {
+        gatsby = entityManager.persist(new Book("The Great Gatsby", "F. Scott Fitzgerald",
+                LocalDate.of(1925, 4, 10), "Classic Literature"));
+        orwell = entityManager.persist(new Book("1984", "George Orwell",
+                LocalDate.of(1949, 6, 8), "Dystopian Fiction"));
+        entityManager.flush();
+    }
+
+    @Test
+    void testUpdateThenDeleteSameBook() {
+        List<BookOperationResult> results = applyAndReload(List.of(
+                update(gatsby.getId(), "Trimalchio", "F. Scott Fitzgerald"),
+                delete(gatsby.getId())));
+
+        assertThat(results).extracting(BookOperationResult::status).containsExactly(200, 204);
+        assertThat(bookRepository.findById(gatsby.getId())).isEmpty();
+        assertThat(bookRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void testUpdateAfterDeleteIsNotFound() {
+        List<BookOperationResult> results = applyAndReload(List.of(
+                delete(gatsby.getId()),
+                update(gatsby.getId(), "Trimalchio", "F. Scott Fitzgerald")));
+
+        assertThat(results).extracting(BookOperationResult::status).containsExactly(424, 404);
+        assertThat(bookRepository.findById(gatsby.getId())).isPresent();
+    }
+
+    @Test
+    void testCreateAfterDeleteOfSameTitleAndAuthor() {
+        List<BookOperationResult> results = applyAndReload(List.of(
+                delete(gatsby.getId()),
+                create("The Great Gatsby", "F. Scott Fitzgerald")));
+
+        assertThat(results).extracting(BookOperationResult::status).containsExactly(204, 201);
+        Long newId = results.get(1).id();
+        assertThat(newId).isNotEqualTo(gatsby.getId());
+        assertThat(bookRepository.findById(gatsby.getId())).isEmpty();
+        assertThat(bookRepository.findById(newId)).get()
+                .extracting(Book::getTitle).isEqualTo("The Great Gatsby");
+    }
+
+    @Test
+    void testCreateDuplicateWithoutDeleteFails() {
+        List<BookOperationResult> results = applyAndReload(List.of(
+                create("Animal Farm", "George Orwell"),
+                create("The Great Gatsby", "F. Scott Fitzgerald")));
+
+        assertThat(results).extracting(BookOperationResult::status).containsExactly(424, 400);
+        assertThat(bookRepository.count()).isEqualTo(2);
+    }
+
+    @Test
+    void testOrderedRenameSwap() {
+        // Swap titles and authors through a temporary name
+        List<BookOperationResult> results = applyAndReload(List.of(
+                update(gatsby.getId(), "Placeholder", "Nobody"),
+                update(orwell.getId(), "The Great Gatsby", "F. Scott Fitzgerald"),
+                update(gatsby.getId(), "1984", "George Orwell")));
+
+        assertThat(results).extracting(BookOperationResult::status).containsExactly(200, 200, 200);
+        assertThat(bookRepository.findById(gatsby.getId())).get()
+                .extracting(Book::getTitle).isEqualTo("1984");
+        assertThat(bookRepository.findById(orwell.getId())).get()
+                .extracting(Book::getTitle).isEqualTo("The Great Gatsby");
+    }
+
+    @Test
+    void testConflictingRenameRollsBackWholeBatch() {
+        List<BookOperationResult> results = applyAndReload(List.of(
+                create("Animal Farm", "George Orwell"),
+                update(gatsby.getId(), "1984", "George Orwell"),
+                delete(orwell.getId())));
+
+        assertThat(results).extracting(BookOperationResult::status).containsExactly(424, 400, 424);
+        assertThat(results.get(1).error()).contains("already exists");
+        assertThat(bookRepository.count()).isEqualTo(2);
+        assertThat(bookRepository.findById(gatsby.getId())).get()
+                .extracting(Book::getTitle).isEqualTo("The Great Gatsby");
+        assertThat(bookRepository.findById(orwell.getId())).isPresent();
+    }
+
+    @Test
+    void testMissingBookIsNotFound() {
+        List<BookOperationResult> results = applyAndReload(List.of(
+                update(gatsby.getId(), "Trimalchio", "F. Scott Fitzgerald"),
+                delete(999_999L)));
+
+        assertThat(results).extracting(BookOperationResult::status).containsExactly(424, 404);
+        assertThat(bookRepository.findById(gatsby.getId())).get()
+                .extracting(Book::getTitle).isEqualTo("The Great Gatsby");
+    }
+
+    // ===============================================
+    // HELPER METHODS
+    // ===============================================
+
+    /**
+     * Apply a batch, then flush and clear so assertions read the database
+     * rather than entities left stale by the bulk delete
+     */
+    private List<BookOperationResult> applyAndReload(List<BookOperation> operations) {
+        List<BookOperationResult> results = bookService.applyBatch(operations);
+        entityManager.flush();
+        entityManager.clear();
+        return results;
+    }
+
+    private static BookOperation create(String title, String author) {
+        return new BookOperation(BookOperation.Type.CREATE, null, new Book(title, author, null, null));
+    }
+
+    private static BookOperation update(Long id, String title, String author) {
+        return new BookOperation(BookOperation.Type.UPDATE, id, new Book(title, author, null, null));
+    }
+
+    private static BookOperation delete(Long id) {
+        return new BookOperation(BookOperation.Type.DELETE, id, null);
+    }
+}
@@ -0,0 +1,160 @@
+package book.tracker.service;
+
+import book.tracker.entity.Book;
+import book.tracker.index.PublicationDateIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({BookService.class, PublicationDateIndex.class})
+public class BookServiceExportTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private BookService bookService;
+
+    @TempDir
+    Path tempDir;
+
+    private Book first;
+    private Book second;
+
+    @BeforeEach
+    void setUp() {
+        first = entityManager.persist(new Book("The Great Gatsby", "F. Scott Fitzgerald",
+                LocalDate.of(1925, 4, 10), "Classic Literature"));
+        second = entityManager.persist(new Book("1984", "George Orwell",
+                LocalDate.of(1949, 6, 8), "Dystopian Fiction"));
+        entityManager.flush();
+    }
+
+    @Test
+    void testExportToStream() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long rows = bookService.exportBooks(out, ExportFormat.CSV, false, 0);
+
+        assertThat(rows).isEqualTo(2);
+        assertThat(out.toString(StandardCharsets.UTF_8).lines().toList()).containsExactly(
+                ExportFormat.CSV.getHeader(),
+                first.getId() + ",The Great Gatsby,F. Scott Fitzgerald,1925-04-10,Classic Literature",
+                second.getId() + ",1984,George Orwell,1949-06-08,Dystopian Fiction");
+    }
+
+    @Test
+    void testResumeCutsPartialRowAndAppendsWithoutHeader() throws IOException {
+        Path target = tempDir.resolve("books.csv");
+
+        // Interrupted mid-row: the first book is complete, the second only half written
+        Files.writeString(target, ExportFormat.CSV.getHeader() + "\n"
+                + first.getId() + ",The Great Gatsby,F. Scott Fitzgerald,1925-04-10,Classic Literature\n"
+                + second.getId() + ",19");
+
+        long rows = bookService.exportBooksToFile(target, ExportFormat.CSV, false, true);
+
+        assertThat(rows).isEqualTo(1);
+        assertThat(Files.readAllLines(target)).containsExactly(
+                ExportFormat.CSV.getHeader(),
+                first.getId() + ",The Great Gatsby,F. Scott Fitzgerald,1925-04-10,Classic Literature",
+                second.getId() + ",1984,George Orwell,1949-06-08,Dystopian Fiction");
+    }
+
+    @Test
+    void testResumeTreatsQuotedLineBreakAsPartOfRow() throws IOException {
+        Path target = tempDir.resolve("books.csv");
+
+        // The second row stopped inside a quoted field that contains a line break
+        Files.writeString(target, ExportFormat.CSV.getHeader() + "\n"
+                + first.getId() + ",The Great Gatsby,F. Scott Fitzgerald,1925-04-10,Classic Literature\n"
+                + second.getId() + ",\"Nineteen\nEighty");
+
+        bookService.exportBooksToFile(target, ExportFormat.CSV, false, true);
+
+        assertThat(Files.readAllLines(target)).hasSize(3)
+                .last().asString().startsWith(second.getId() + ",1984,");
+    }
+
+    @Test
+    void testResumeAfterHeaderOnly() throws IOException {
+        Path target = tempDir.resolve("books.csv");
+        Files.writeString(target, ExportFormat.CSV.getHeader() + "\n" + first.getId());
+
+        long rows = bookService.exportBooksToFile(target, ExportFormat.CSV, false, true);
+
+        assertThat(rows).isEqualTo(2);
+        assertThat(Files.readAllLines(target)).hasSize(3).first().isEqualTo(ExportFormat.CSV.getHeader());
+    }
+
+    @Test
+    void testResumeNdjsonAndMissingFile() throws IOException {
+        Path target = tempDir.resolve("books.ndjson");
+
+        // Nothing to resume from: a full export
+        assertThat(bookService.exportBooksToFile(target, ExportFormat.NDJSON, false, true)).isEqualTo(2);
+
+        // Cut inside the second row, then resume
+        List<String> complete = Files.readAllLines(target);
+        Files.writeString(target, complete.get(0) + "\n" + complete.get(1).substring(0, 10));
+        assertThat(bookService.exportBooksToFile(target, ExportFormat.NDJSON, false, true)).isEqualTo(1);
+        assertThat(Files.readAllLines(target)).isEqualTo(complete);
+    }
+
+    @Test
+    void testResumeRejectsForeignFile() throws IOException {
+        Path target = tempDir.resolve("books.ndjson");
+        Files.writeString(target, "not an export\n");
+
+        assertThatThrownBy(() -> bookService.exportBooksToFile(target, ExportFormat.NDJSON, false, true))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void testFullFileExportTruncatesExistingFile() throws IOException {
+        Path target = tempDir.resolve("books.ndjson");
+        Files.writeString(target, "stale content that is longer than nothing\n".repeat(100));
+
+        long rows = bookService.exportBooksToFile(target, ExportFormat.NDJSON, false, false);
+
+        assertThat(rows).isEqualTo(2);
+        assertThat(Files.readAllLines(target)).hasSize(2)
+                .allMatch(line -> line.startsWith("{\"id\":"));
+    }
+
+    @Test
+    void testGzipFileExportIsReadableAndCannotBeResumed() throws IOException {
+        Path target = tempDir.resolve("books.csv.gz");
+
+        bookService.exportBooksToFile(target, ExportFormat.CSV, true, false);
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(target))) {
+            String content = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            assertThat(content.lines().toList()).hasSize(3);
+        }
+
+        // An interrupted gzip member has no trailer, so appending would corrupt the archive
+        assertThatThrownBy(() -> bookService.exportBooksToFile(target, ExportFormat.CSV, true, true))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> bookService.exportBooks(new ByteArrayOutputStream(), ExportFormat.CSV, true, first.getId()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
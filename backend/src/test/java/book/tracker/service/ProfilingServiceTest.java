@@ -0,0 +1,103 @@
+package book.tracker.service;
+
+import book.tracker.dto.RecordingStatus;
+import book.tracker.profiling.ServiceEvent;
+import jdk.jfr.EventType;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ProfilingServiceTest {
+
+    private final ProfilingService profilingService = new ProfilingService();
+
+    @TempDir
+    Path tempDir;
+
+    @AfterEach
+    void tearDown() {
+        if (profilingService.getStatus().map(status -> status.state().equals("RUNNING")).orElse(false)) {
+            profilingService.stopRecording();
+        }
+    }
+
+    @Test
+    void testStartStatusAndStop() throws Exception {
+        assertThat(profilingService.getStatus()).isEmpty();
+
+        RecordingStatus started = profilingService.startRecording(Duration.ofMinutes(5), 10 * 1024 * 1024);
+        assertThat(started.state()).isEqualTo("RUNNING");
+        assertThat(started.maxAgeSeconds()).isEqualTo(300);
+        assertThat(started.maxSizeBytes()).isEqualTo(10 * 1024 * 1024);
+        assertThat(profilingService.getStatus()).get()
+                .extracting(RecordingStatus::id).isEqualTo(started.id());
+
+        RecordingStatus stopped = profilingService.stopRecording();
+        assertThat(stopped.state()).isEqualTo("STOPPED");
+        assertThat(stopped.stopTime()).isNotNull();
+    }
+
+    @Test
+    void testSecondStartWhileRunningIsRejected() throws Exception {
+        profilingService.startRecording(Duration.ofMinutes(1), 1024 * 1024);
+
+        assertThatThrownBy(() -> profilingService.startRecording(Duration.ofMinutes(1), 1024 * 1024))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void testRestartAfterStopCreatesNewRecording() throws Exception {
+        RecordingStatus first = profilingService.startRecording(Duration.ofMinutes(1), 1024 * 1024);
+        profilingService.stopRecording();
+
+        RecordingStatus second = profilingService.startRecording(Duration.ofMinutes(1), 1024 * 1024);
+        assertThat(second.id()).isNotEqualTo(first.id());
+        assertThat(second.state()).isEqualTo("RUNNING");
+    }
+
+    @Test
+    void testLimitsAreValidated() {
+        assertThatThrownBy(() -> profilingService.startRecording(Duration.ZERO, 1024))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> profilingService.startRecording(ProfilingService.MAX_AGE_LIMIT.plusSeconds(1), 1024))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> profilingService.startRecording(Duration.ofMinutes(1), 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> profilingService.startRecording(Duration.ofMinutes(1), ProfilingService.MAX_SIZE_LIMIT + 1))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(profilingService.getStatus()).isEmpty();
+    }
+
+    @Test
+    void testStopAndDumpWithoutRecordingAreRejected() {
+        assertThatThrownBy(profilingService::stopRecording).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> profilingService.dumpRecording(tempDir.resolve("none.jfr")))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void testDumpHasCustomEventsButNoSensitiveEvents() throws Exception {
+        profilingService.startRecording(Duration.ofMinutes(1), 10 * 1024 * 1024);
+        new ServiceEvent().commit();
+
+        Path dump = tempDir.resolve("recording.jfr");
+        profilingService.dumpRecording(dump);
+
+        List<String> eventNames = RecordingFile.readAllEvents(dump).stream()
+                .map(RecordedEvent::getEventType)
+                .map(EventType::getName)
+                .distinct()
+                .toList();
+        assertThat(eventNames).contains("book.tracker.Service");
+        assertThat(eventNames).doesNotContainAnyElementsOf(ProfilingService.EXCLUDED_EVENTS);
+    }
+}
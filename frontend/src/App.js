@@ -6,28 +6,35 @@ import './App.css';
 
 function App() {
   // State management
-  const [books, setBooks] = useState([]);
+  // Books live in the bookService page cache; only the total is kept here
+  const [totalCount, setTotalCount] = useState(0);
   const [loading, setLoading] = useState(true);
   const [error, setError] = useState(null);
   const [showForm, setShowForm] = useState(false);
   const [editingBook, setEditingBook] = useState(null);
+  // Bumped on every cache change so the visible rows are re-read
+  const [, setCacheVersion] = useState(0);
 
-  // Load books when component mounts
+  // Load the first page when component mounts and re-render on cache changes
   useEffect(() => {
+    const unsubscribe = bookService.subscribe(() => {
+      setTotalCount(bookService.getTotalCount() || 0);
+      setCacheVersion(version => version + 1);
+    });
     loadBooks();
+    return unsubscribe;
   }, []);
 
   /**
-   * Load all books from the backend
+   * Load the first page of books from the backend; the list fetches the rest on scroll
    */
   const loadBooks = async () => {
     try {
       setLoading(true);
       setError(null);
       console.log('Loading books...');
-      const booksData = await bookService.getAllBooks();
-      console.log('Books loaded:', booksData);
-      setBooks(booksData);
+      await bookService.getBooksPage(0);
+      console.log('Books loaded:', bookService.getTotalCount());
     } catch (err) {
       setError('Failed to load books. Make sure the backend is running.');
       console.error('Error loading books:', err);
@@ -46,7 +53,6 @@ function App() {
       const newBook = await bookService.createBook(bookData);
           console.log('Book created successfully:', newBook);
 
-      setBooks([...books, newBook]);
       setShowForm(false);
       setError(null);
     } catch (err) {
@@ -66,8 +72,7 @@ function App() {
    */
   const handleUpdateBook = async (id, bookData) => {
     try {
-      const updatedBook = await bookService.updateBook(id, bookData);
-      setBooks(books.map(book => book.id === id ? updatedBook : book));
+      await bookService.updateBook(id, bookData);
       setEditingBook(null);
       setShowForm(false);
       setError(null);
@@ -84,7 +89,6 @@ function App() {
     if (window.confirm('Are you sure you want to delete this book?')) {
       try {
         await bookService.deleteBook(id);
-        setBooks(books.filter(book => book.id !== id));
         setError(null);
       } catch (err) {
         setError('Failed to delete book.');
@@ -158,14 +162,14 @@ function App() {
         {/* Book List */}
         {!loading && (
           <BookList
-            books={books}
+            totalCount={totalCount}
             onEdit={handleEditBook}
             onDelete={handleDeleteBook}
           />
         )}
 
         {/* Empty state */}
-        {!loading && books.length === 0 && !error && (
+        {!loading && totalCount === 0 && !error && (
           <div className="empty-state">
             <p>No books found. Add your first book to get started!</p>
           </div>
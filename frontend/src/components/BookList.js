@@ -1,8 +1,61 @@
-import React from 'react';
+import React, { useState, useEffect } from 'react';
 import BookItem from './BookItem';
+import bookService, { PAGE_SIZE } from '../services/bookService';
 
-const BookList = ({ books, onEdit, onDelete }) => {
-  if (!books || books.length === 0) {
+// Rows have a fixed height (see .book-list-viewport in App.css) so the
+// visible window can be computed from the scroll position alone
+const ROW_HEIGHT = 64;
+const VIEWPORT_HEIGHT = 640;
+// Extra rows rendered above and below the visible window
+const OVERSCAN = 10;
+// Rows beyond the rendered window whose pages are fetched ahead of scrolling
+const PREFETCH_ROWS = PAGE_SIZE / 2;
+// Browsers cap element height (about 33.5M px in Chrome, 17.9M px in Firefox);
+// past this the scrollbar is scaled so every row stays reachable
+const MAX_SCROLL_HEIGHT = 15000000;
+
+const BookList = ({ totalCount, onEdit, onDelete }) => {
+  const [scrollTop, setScrollTop] = useState(0);
+
+  // Position in the full list that the scrollbar currently points at
+  const contentHeight = totalCount * ROW_HEIGHT;
+  const scrollHeight = Math.min(contentHeight, MAX_SCROLL_HEIGHT);
+  const maxScrollTop = Math.max(1, scrollHeight - VIEWPORT_HEIGHT);
+  const virtualTop = contentHeight > MAX_SCROLL_HEIGHT
+    ? Math.min(scrollTop, maxScrollTop) / maxScrollTop * (contentHeight - VIEWPORT_HEIGHT)
+    : scrollTop;
+
+  const firstIndex = Math.max(0, Math.floor(virtualTop / ROW_HEIGHT) - OVERSCAN);
+  const lastIndex = Math.min(
+    totalCount - 1,
+    Math.ceil((virtualTop + VIEWPORT_HEIGHT) / ROW_HEIGHT) + OVERSCAN
+  );
+  // Spacers place the rendered rows under the viewport; without scaling
+  // these are simply the heights of the rows left out
+  const topSpacerHeight = Math.max(
+    0,
+    Math.round(scrollTop - (virtualTop - firstIndex * ROW_HEIGHT))
+  );
+  const bottomSpacerHeight = Math.max(
+    0,
+    scrollHeight - topSpacerHeight - (lastIndex - firstIndex + 1) * ROW_HEIGHT
+  );
+
+  // Fetch the pages for the rendered window plus some headroom
+  useEffect(() => {
+    if (totalCount > 0) {
+      bookService.prefetchRange(firstIndex - PREFETCH_ROWS, lastIndex + PREFETCH_ROWS);
+    }
+  }, [firstIndex, lastIndex, totalCount]);
+
+  /**
+   * Handle scrolling of the list viewport
+   */
+  const handleScroll = (e) => {
+    setScrollTop(e.currentTarget.scrollTop);
+  };
+
+  if (!totalCount) {
     return (
       <div className="book-list-empty">
         <p>No books available. Add your first book!</p>
@@ -10,11 +63,32 @@ const BookList = ({ books, onEdit, onDelete }) => {
     );
   }
 
+  const rows = [];
+  for (let index = firstIndex; index <= lastIndex; index++) {
+    const book = bookService.getCachedBook(index);
+    rows.push(book ? (
+      <BookItem
+        key={book.id}
+        book={book}
+        onEdit={onEdit}
+        onDelete={onDelete}
+      />
+    ) : (
+      <tr key={`loading-${index}`} className="book-item book-item-loading">
+        <td colSpan="5">Loading...</td>
+      </tr>
+    ));
+  }
+
   return (
     <div className="book-list">
-      <h2>Your Book Collection ({books.length} books)</h2>
+      <h2>Your Book Collection ({totalCount} books)</h2>
 
-      <div className="book-table">
+      <div
+        className="book-table book-list-viewport"
+        style={{ maxHeight: VIEWPORT_HEIGHT }}
+        onScroll={handleScroll}
+      >
         <table>
           <thead>
             <tr>
@@ -26,14 +100,14 @@ const BookList = ({ books, onEdit, onDelete }) => {
             </tr>
           </thead>
           <tbody>
-            {books.map(book => (
-              <BookItem
-                key={book.id}
-                book={book}
-                onEdit={onEdit}
-                onDelete={onDelete}
-              />
-            ))}
+            {/* Spacers stand in for the rows outside the window */}
+            {topSpacerHeight > 0 && (
+              <tr className="book-list-spacer" style={{ height: topSpacerHeight }} />
+            )}
+            {rows}
+            {bottomSpacerHeight > 0 && (
+              <tr className="book-list-spacer" style={{ height: bottomSpacerHeight }} />
+            )}
           </tbody>
         </table>
       </div>
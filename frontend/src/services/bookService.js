@@ -11,6 +11,135 @@ const api = axios.create({
   },
 });
 
+// Books per page when loading the list incrementally
+export const PAGE_SIZE = 100;
+// Pages kept in memory; the least recently used ones are dropped beyond this
+const MAX_CACHED_PAGES = 50;
+
+// In-memory page cache: page index -> array of books (ordered by ID, like the backend).
+// Map order doubles as recency order: reading a page moves it to the end.
+const pageCache = new Map();
+// Requests in flight: page index -> promise, so a page is never fetched twice
+const pendingPages = new Map();
+// Total number of books reported by the backend (null until the first page arrives)
+let totalCount = null;
+// Listeners notified whenever the cache changes
+const listeners = new Set();
+
+const notifyListeners = () => {
+  listeners.forEach(listener => listener());
+};
+
+/**
+ * Cache a page, dropping the least recently used pages over the limit
+ */
+const cachePage = (pageIndex, books) => {
+  pageCache.delete(pageIndex);
+  pageCache.set(pageIndex, books);
+  while (pageCache.size > MAX_CACHED_PAGES) {
+    pageCache.delete(pageCache.keys().next().value);
+  }
+};
+
+/**
+ * Read a cached page and mark it as recently used
+ */
+const touchPage = (pageIndex) => {
+  const page = pageCache.get(pageIndex);
+  if (page) {
+    pageCache.delete(pageIndex);
+    pageCache.set(pageIndex, page);
+  }
+  return page;
+};
+
+/**
+ * Page index and offset of the cached book with this ID, or null
+ */
+const findCachedBook = (id) => {
+  for (const [pageIndex, page] of pageCache) {
+    const offset = page.findIndex(book => book.id === id);
+    if (offset !== -1) {
+      return { pageIndex, offset };
+    }
+  }
+  return null;
+};
+
+/**
+ * Drop cached pages after the given index (their contents shifted by one)
+ */
+const dropPagesAfter = (pageIndex) => {
+  for (const index of [...pageCache.keys()]) {
+    if (index > pageIndex) {
+      pageCache.delete(index);
+    }
+  }
+};
+
+/**
+ * New books get the highest ID, so they belong at the end of the list
+ */
+const addToCache = (book) => {
+  if (totalCount === null) {
+    return;
+  }
+  const pageIndex = Math.floor(totalCount / PAGE_SIZE);
+  const page = pageCache.get(pageIndex);
+  if (page && page.length === totalCount % PAGE_SIZE) {
+    page.push(book);
+  } else if (!page && totalCount % PAGE_SIZE === 0) {
+    cachePage(pageIndex, [book]);
+  }
+  totalCount += 1;
+  notifyListeners();
+};
+
+const replaceInCache = (book) => {
+  const position = findCachedBook(book.id);
+  if (position) {
+    pageCache.get(position.pageIndex)[position.offset] = book;
+    notifyListeners();
+  }
+};
+
+/**
+ * Remove a book and keep the page it was on full by borrowing from the next page;
+ * later pages are shifted by one and get re-fetched when scrolled into view.
+ * If the next page is not cached there is nothing to borrow, so the page itself
+ * is evicted rather than left one row short.
+ */
+const removeFromCache = (id) => {
+  if (totalCount === null) {
+    return;
+  }
+  const position = findCachedBook(id);
+  if (position) {
+    const page = pageCache.get(position.pageIndex);
+    page.splice(position.offset, 1);
+    const nextPage = pageCache.get(position.pageIndex + 1);
+    if (nextPage && nextPage.length > 0) {
+      page.push(nextPage[0]);
+    }
+    dropPagesAfter(position.pageIndex);
+
+    const expectedLength = Math.min(PAGE_SIZE, totalCount - 1 - position.pageIndex * PAGE_SIZE);
+    if (page.length < expectedLength) {
+      pageCache.delete(position.pageIndex);
+    }
+  } else {
+    // Not loaded: every cached page holding higher IDs has shifted
+    for (const [pageIndex, page] of [...pageCache]) {
+      if (page.length > 0 && page[page.length - 1].id > id) {
+        dropPagesAfter(pageIndex - 1);
+        break;
+      }
+    }
+  }
+  totalCount = Math.max(0, totalCount - 1);
+  notifyListeners();
+};
+
 // Book Service - handles all API calls to backend
 const bookService = {
 
@@ -30,6 +159,100 @@ const bookService = {
     }
   },
 
+  /**
+   * Get one page of books, from the cache when possible
+   * @param {number} pageIndex - Zero-based page index
+   * @returns {Promise} Array of up to PAGE_SIZE books
+   */
+  getBooksPage: async (pageIndex) => {
+    if (pageCache.has(pageIndex)) {
+      return touchPage(pageIndex);
+    }
+    if (pendingPages.has(pageIndex)) {
+      return pendingPages.get(pageIndex);
+    }
+
+    // Continue from the previous page's last ID when it is loaded (the usual
+    // case while scrolling); only jumps need the slower offset query.
+    // The total is only requested until it is known.
+    const previous = pageCache.get(pageIndex - 1);
+    const params = previous && previous.length === PAGE_SIZE
+      ? { afterId: previous[PAGE_SIZE - 1].id, size: PAGE_SIZE }
+      : { page: pageIndex, size: PAGE_SIZE };
+    if (totalCount === null) {
+      params.count = true;
+    }
+
+    const request = api.get('', { params })
+      .then(response => {
+        cachePage(pageIndex, response.data);
+        const total = response.headers['x-total-count'];
+        if (total !== undefined) {
+          totalCount = parseInt(total, 10) || 0;
+        }
+        notifyListeners();
+        return response.data;
+      })
+      .catch(error => {
+        console.error(`Error fetching page ${pageIndex}:`, error);
+        throw error;
+      })
+      .finally(() => {
+        pendingPages.delete(pageIndex);
+      });
+
+    pendingPages.set(pageIndex, request);
+    return request;
+  },
+
+  /**
+   * Make sure every page covering the given row range is cached or being fetched
+   * @param {number} firstIndex - First row index needed
+   * @param {number} lastIndex - Last row index needed
+   */
+  prefetchRange: (firstIndex, lastIndex) => {
+    const firstPage = Math.max(0, Math.floor(firstIndex / PAGE_SIZE));
+    const lastPage = Math.floor(Math.max(firstIndex, lastIndex) / PAGE_SIZE);
+    for (let pageIndex = firstPage; pageIndex <= lastPage; pageIndex++) {
+      if (totalCount !== null && pageIndex * PAGE_SIZE >= totalCount) {
+        break;
+      }
+      bookService.getBooksPage(pageIndex).catch(() => {});
+    }
+  },
+
+  /**
+   * Cached book at a row index, or undefined if its page is not loaded yet
+   */
+  getCachedBook: (index) => {
+    const page = touchPage(Math.floor(index / PAGE_SIZE));
+    return page ? page[index % PAGE_SIZE] : undefined;
+  },
+
+  /**
+   * Total number of books, or null before the first page is loaded
+   */
+  getTotalCount: () => totalCount,
+
+  /**
+   * Subscribe to cache changes
+   * @param {Function} listener - Called after every change
+   * @returns {Function} Unsubscribe function
+   */
+  subscribe: (listener) => {
+    listeners.add(listener);
+    return () => listeners.delete(listener);
+  },
+
+  /**
+   * Forget all cached pages (e.g. to reload from scratch)
+   */
+  clearCache: () => {
+    pageCache.clear();
+    totalCount = null;
+    notifyListeners();
+  },
+
   /**
    * Get a book by ID
    * @param {number} id - Book ID
@@ -53,6 +276,7 @@ const bookService = {
   createBook: async (bookData) => {
     try {
       const response = await api.post('', bookData);
+      addToCache(response.data);
       return response.data;
     } catch (error) {
       console.error('Error creating book:', error);
@@ -69,6 +293,7 @@ const bookService = {
   updateBook: async (id, bookData) => {
     try {
       const response = await api.put(`/${id}`, bookData);
+      replaceInCache(response.data);
       return response.data;
     } catch (error) {
       console.error(`Error updating book with ID ${id}:`, error);
@@ -84,12 +309,33 @@ const bookService = {
   deleteBook: async (id) => {
     try {
       await api.delete(`/${id}`);
+      removeFromCache(id);
       return { success: true, message: 'Book deleted successfully' };
     } catch (error) {
       console.error(`Error deleting book with ID ${id}:`, error);
       throw error;
     }
   },
+
+  /**
+   * Apply several creates/updates/deletes in one request and one transaction
+   * @param {Array} operations - [{op: 'create'|'update'|'delete', id, book}]
+   * @returns {Promise} One result per operation {index, op, id, status, book, error}
+   */
+  applyBatch: async (operations) => {
+    try {
+      const response = await api.post('/batch', operations);
+      response.data.forEach(result => {
+        if (result.op === 'create') addToCache(result.book);
+        if (result.op === 'update') replaceInCache(result.book);
+        if (result.op === 'delete') removeFromCache(result.id);
+      });
+      return response.data;
+    } catch (error) {
+      console.error('Error applying batch:', error);
+      throw error;
+    }
+  },
 };
 
 export default bookService;
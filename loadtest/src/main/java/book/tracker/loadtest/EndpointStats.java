@@ -0,0 +1,70 @@
+package book.tracker.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Latency histogram and counters for one endpoint
+ * Latencies are in microseconds, measured from each request's intended send
+ * time, so queueing caused by a slow server is included (no coordinated omission).
+ * Dropped requests are recorded too, at the request timeout, so the percentiles
+ * cover every scheduled request rather than only the ones that were sent.
+ */
+public class EndpointStats {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(10);
+
+    private final String endpoint;
+    private final ConcurrentHistogram latencies = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+    private final AtomicLong errors = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+
+    public EndpointStats(String aEndpoint) {
+        this.endpoint = aEndpoint;
+    }
+
+    /**
+     * Record a completed request; HTTP 4xx/5xx and transport failures count as errors
+     */
+    public void record(long latencyNanos, boolean failed) {
+        latencies.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), HIGHEST_TRACKABLE_MICROS));
+        if (failed) {
+            errors.incrementAndGet();
+        }
+    }
+
+    /**
+     * Record a request that was not sent because too many were in flight
+     * @param timeoutNanos Latency to record for it, normally the request timeout
+     */
+    public void recordDropped(long timeoutNanos) {
+        latencies.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(timeoutNanos), HIGHEST_TRACKABLE_MICROS));
+        dropped.incrementAndGet();
+    }
+
+    /**
+     * Requests scheduled in the measured window: completed, failed and dropped
+     */
+    public long getRequests() {
+        return latencies.getTotalCount();
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public Histogram getLatencies() {
+        return latencies;
+    }
+
+    public long getErrors() {
+        return errors.get();
+    }
+
+    public long getDropped() {
+        return dropped.get();
+    }
+}
@@ -0,0 +1,73 @@
+package book.tracker.loadtest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Maps popularity ranks to book IDs
+ * Workloads and traces refer to books by rank (ID_PLACEHOLDER, rank 0 is the
+ * most popular book), not by ID. The ranks are resolved here against the
+ * books that exist when the run starts: the lowest seedBooks IDs, shuffled
+ * with the seed. A trace therefore replays the same access pattern on any
+ * database seeded with the same settings, whatever IDs the books ended up with.
+ */
+public class KeySpace {
+
+    private final List<Long> idsByRank;
+
+    /**
+     * @param ids Existing book IDs, in any order
+     * @param size Number of books to use (the seeded ones)
+     * @param seed Decides which IDs are hot
+     */
+    public KeySpace(List<Long> ids, int size, long seed) {
+        if (size <= 0 || ids.size() < size) {
+            throw new IllegalArgumentException("Need " + size + " existing books, found " + ids.size());
+        }
+        List<Long> sorted = new ArrayList<>(ids);
+        Collections.sort(sorted);
+        List<Long> keys = new ArrayList<>(sorted.subList(0, size));
+        Collections.shuffle(keys, new Random(seed));
+        this.idsByRank = keys;
+    }
+
+    public int size() {
+        return idsByRank.size();
+    }
+
+    public long idAt(int rank) {
+        return idsByRank.get(rank);
+    }
+
+    /**
+     * Replace every rank placeholder in a path with the book ID it stands for
+     * Paths without placeholders (e.g. hand-written traces) are returned as is.
+     * @throws IllegalArgumentException if a rank is outside the key space
+     */
+    public String resolve(String path) {
+        int start = path.indexOf(LoadRequest.ID_PLACEHOLDER);
+        if (start < 0) {
+            return path;
+        }
+
+        StringBuilder resolved = new StringBuilder(path.length());
+        int copied = 0;
+        while (start >= 0) {
+            int rankStart = start + LoadRequest.ID_PLACEHOLDER.length();
+            int end = path.indexOf('%', rankStart);
+            if (end < 0) {
+                throw new IllegalArgumentException("Unterminated ID placeholder in " + path);
+            }
+            int rank = Integer.parseInt(path.substring(rankStart, end));
+            if (rank < 0 || rank >= idsByRank.size()) {
+                throw new IllegalArgumentException("Rank " + rank + " is outside the key space of " + idsByRank.size() + " books");
+            }
+            resolved.append(path, copied, start).append(idsByRank.get(rank));
+            copied = end + 1;
+            start = path.indexOf(LoadRequest.ID_PLACEHOLDER, copied);
+        }
+        return resolved.append(path, copied, path.length()).toString();
+    }
+}
@@ -0,0 +1,118 @@
+package book.tracker.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Sends requests open-loop: each one goes out at its scheduled time whether or
+ * not earlier requests have completed, as real users would. If more than
+ * maxInFlight requests are outstanding the new one is dropped and recorded as
+ * a timeout, since a real user would not have been served either.
+ */
+public class LoadDriver {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient client;
+    private final String baseUrl;
+    private final int maxInFlight;
+    private final String runNonce;
+    private final KeySpace keySpace;
+    private final Map<String, EndpointStats> stats = new ConcurrentHashMap<>();
+
+    private long measuredNanos;
+
+    public LoadDriver(HttpClient aClient, String aBaseUrl, int aMaxInFlight, String aRunNonce, KeySpace aKeySpace) {
+        this.client = aClient;
+        this.baseUrl = aBaseUrl;
+        this.maxInFlight = aMaxInFlight;
+        this.runNonce = aRunNonce;
+        this.keySpace = aKeySpace;
+    }
+
+    /**
+     * Drive all requests and wait for the outstanding ones to finish
+     * @param requests Requests in offset order
+     * @param warmupNanos Requests scheduled before this offset are sent but not recorded
+     */
+    public void run(Iterator<LoadRequest> requests, long warmupNanos) throws InterruptedException {
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        long start = System.nanoTime();
+        long lastOffset = warmupNanos;
+
+        while (requests.hasNext()) {
+            LoadRequest request = requests.next();
+            long intendedStart = start + request.offsetNanos();
+            long wait;
+            while ((wait = intendedStart - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+
+            boolean measured = request.offsetNanos() >= warmupNanos;
+            lastOffset = Math.max(lastOffset, request.offsetNanos());
+            EndpointStats endpointStats = stats.computeIfAbsent(request.endpoint(), EndpointStats::new);
+
+            if (!inFlight.tryAcquire()) {
+                if (measured) {
+                    endpointStats.recordDropped(REQUEST_TIMEOUT.toNanos());
+                }
+                continue;
+            }
+
+            client.sendAsync(toHttpRequest(request), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        long latency = System.nanoTime() - intendedStart;
+                        inFlight.release();
+                        if (measured) {
+                            endpointStats.record(latency, error != null || response.statusCode() >= 400);
+                        }
+                    });
+        }
+
+        // Let outstanding requests complete (they time out after REQUEST_TIMEOUT)
+        if (!inFlight.tryAcquire(maxInFlight, REQUEST_TIMEOUT.toSeconds() + 5, TimeUnit.SECONDS)) {
+            System.err.println("Some requests were still in flight when the run ended");
+        }
+        measuredNanos = Math.max(1, lastOffset - warmupNanos);
+    }
+
+    /**
+     * Stats per endpoint, sorted by endpoint name
+     */
+    public Map<String, EndpointStats> getStats() {
+        return new TreeMap<>(stats);
+    }
+
+    /**
+     * Length of the measured (post-warmup) schedule, used for throughput
+     */
+    public long getMeasuredNanos() {
+        return measuredNanos;
+    }
+
+    // ===============================================
+    // PRIVATE HELPER METHODS
+    // ===============================================
+
+    private HttpRequest toHttpRequest(LoadRequest request) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + keySpace.resolve(request.path())))
+                .timeout(REQUEST_TIMEOUT);
+        if (request.body() == null) {
+            return builder.method(request.method(), HttpRequest.BodyPublishers.noBody()).build();
+        }
+        String body = request.body().replace(LoadRequest.RUN_PLACEHOLDER, runNonce);
+        return builder.header("Content-Type", "application/json")
+                .method(request.method(), HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+}
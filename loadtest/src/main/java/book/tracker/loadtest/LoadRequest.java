@@ -0,0 +1,26 @@
+package book.tracker.loadtest;
+
+/**
+ * One request of a workload, scheduled relative to the start of the run
+ * The body may contain RUN_PLACEHOLDER, replaced with a per-run value when the
+ * request is sent so replayed creates do not clash with earlier runs' titles.
+ * The path may refer to books by popularity rank (idPlaceholder), resolved
+ * through the run's KeySpace when the request is sent.
+ *
+ * @param offsetNanos Intended send time, relative to the start of the run
+ * @param endpoint Report key, e.g. "GET /api/books/{id}"
+ * @param method HTTP method
+ * @param path Path and query string, relative to the base URL
+ * @param body JSON body, or null
+ */
+public record LoadRequest(long offsetNanos, String endpoint, String method, String path, String body) {
+
+    public static final String RUN_PLACEHOLDER = "%RUN%";
+
+    /** Start of a book placeholder; the full form is %ID:rank% */
+    public static final String ID_PLACEHOLDER = "%ID:";
+
+    public static String idPlaceholder(int rank) {
+        return ID_PLACEHOLDER + rank + "%";
+    }
+}
@@ -0,0 +1,111 @@
+package book.tracker.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Load test entry point
+ *
+ * Drives a running backend (e.g. started with startup.sh against a local
+ * PostgreSQL) over HTTP and prints a latency report per endpoint.
+ *
+ * Exit codes: 0 = SLOs met, 1 = setup or I/O error, 2 = SLO violated.
+ *
+ * Example:
+ *   mvn -q exec:java -Dexec.args="--rate=200 --durationSeconds=60 --label=abc123 --output=results.json"
+ */
+public class LoadTestApp {
+
+    public static void main(String[] args) {
+        int exitCode;
+        try {
+            exitCode = run(LoadTestConfig.fromArgs(args));
+        } catch (IllegalArgumentException e) {
+            System.err.println("Invalid arguments: " + e.getMessage());
+            exitCode = 1;
+        } catch (Exception e) {
+            System.err.println("Load test failed: " + e.getMessage());
+            exitCode = 1;
+        }
+        System.exit(exitCode);
+    }
+
+    private static int run(LoadTestConfig config) throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        Seeder seeder = new Seeder(client, objectMapper, config.baseUrl());
+        // Substituted into create/update titles so repeated runs never collide
+        String runNonce = Long.toString(System.currentTimeMillis(), 36);
+
+        long warmupNanos = Duration.ofSeconds(config.warmupSeconds()).toNanos();
+        LoadDriver driver;
+        String mode;
+
+        if (config.replayTrace() != null) {
+            try (TraceFile.Replay replay = new TraceFile.Replay(config.replayTrace(), config.replaySpeed())) {
+                // Seed exactly as the recorded run did, so its ranks map to the same books
+                long seed = replay.getSeed().orElse(config.seed());
+                int seedBooks = replay.getSeedBooks().orElse(config.seedBooks());
+                KeySpace keySpace = seed(seeder, seedBooks, seed, runNonce);
+
+                mode = "replay " + config.replayTrace().getFileName();
+                System.out.println("Replaying " + config.replayTrace() + " at " + config.replaySpeed() + "x");
+                driver = new LoadDriver(client, config.baseUrl(), config.maxInFlight(), runNonce, keySpace);
+                driver.run(replay, warmupNanos);
+            }
+        } else {
+            KeySpace keySpace = seed(seeder, config.seedBooks(), config.seed(), runNonce);
+
+            mode = "generated " + config.arrival() + " " + config.rate() + " req/s";
+            System.out.println("Running " + mode + " over " + keySpace.size() + " books");
+            driver = new LoadDriver(client, config.baseUrl(), config.maxInFlight(), runNonce, keySpace);
+
+            Iterator<LoadRequest> workload = new Workload(config, keySpace.size());
+            if (config.recordTrace() != null) {
+                try (TraceFile.Recorder recorder = new TraceFile.Recorder(
+                        workload, config.recordTrace(), config.seed(), config.seedBooks())) {
+                    driver.run(recorder, warmupNanos);
+                }
+            } else {
+                driver.run(workload, warmupNanos);
+            }
+        }
+
+        // Undo the run's creates and updates so repeated runs measure the same data
+        boolean restored = true;
+        try {
+            System.out.println("Restored the dataset (" + seeder.restore(runNonce) + " books deleted or reset)");
+        } catch (IOException e) {
+            System.err.println("Restoring the dataset failed: " + e.getMessage());
+            restored = false;
+        }
+
+        LoadTestReport report = new LoadTestReport(config, mode, seeder.getBookCount(),
+                driver.getStats(), driver.getMeasuredNanos());
+        report.print(System.out);
+        if (config.output() != null) {
+            report.write(config.output(), objectMapper);
+            System.out.println("Report written to " + config.output());
+        }
+        if (!restored) {
+            return 1;
+        }
+        return report.isSloMet() ? 0 : 2;
+    }
+
+    /**
+     * Make sure the seeded books exist and build the rank-to-ID mapping over them
+     */
+    private static KeySpace seed(Seeder seeder, int seedBooks, long seed, String runNonce) throws Exception {
+        System.out.println("Seeding at least " + seedBooks + " books (seed " + seed + ")...");
+        List<Long> ids = seeder.ensureBooks(seedBooks, seed, runNonce);
+        return new KeySpace(ids, seedBooks, seed);
+    }
+}
@@ -0,0 +1,146 @@
+package book.tracker.loadtest;
+
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Load test settings, parsed from --key=value command line arguments
+ * Every setting has a default, so two runs with the same arguments (and the
+ * same seed) generate exactly the same request sequence.
+ *
+ * @param baseUrl Backend to drive, e.g. http://localhost:8080
+ * @param rate Target arrival rate in requests per second (open loop)
+ * @param arrival "poisson" (exponential gaps) or "uniform" (fixed gaps)
+ * @param durationSeconds Length of the measured run
+ * @param warmupSeconds Requests sent before this are not recorded
+ * @param maxInFlight Requests allowed in flight before new ones are dropped
+ * @param readWeight Weight of GET /api/books/{id}
+ * @param listWeight Weight of GET /api/books?page=
+ * @param searchWeight Weight of GET /api/books?search=
+ * @param createWeight Weight of POST /api/books
+ * @param updateWeight Weight of PUT /api/books/{id}
+ * @param zipfExponent Skew of key popularity (0 = uniform, ~1 = typical hot set)
+ * @param seedBooks Books to make sure exist before the run; reads and updates target these
+ * @param seed Random seed for the generated workload and for which books are hot
+ * @param recordTrace Write the generated requests to this trace file (optional)
+ * @param replayTrace Replay this trace file instead of generating requests (optional);
+ *                    the trace's own seed and seedBooks take precedence
+ * @param replaySpeed Replay time scale: 2.0 replays twice as fast
+ * @param label Name for this run in the report, e.g. a commit id
+ * @param output JSON report file (optional)
+ * @param sloP99Millis Fail the run if any endpoint's p99 exceeds this (0 = off)
+ * @param sloP999Millis Fail the run if any endpoint's p99.9 exceeds this (0 = off)
+ * @param maxErrorRate Fail the run if any endpoint's share of failed requests exceeds this (1 = off)
+ * @param maxDropRate Fail the run if any endpoint's share of dropped requests exceeds this (1 = off)
+ */
+public record LoadTestConfig(
+        String baseUrl,
+        double rate,
+        String arrival,
+        int durationSeconds,
+        int warmupSeconds,
+        int maxInFlight,
+        int readWeight,
+        int listWeight,
+        int searchWeight,
+        int createWeight,
+        int updateWeight,
+        double zipfExponent,
+        int seedBooks,
+        long seed,
+        Path recordTrace,
+        Path replayTrace,
+        double replaySpeed,
+        String label,
+        Path output,
+        double sloP99Millis,
+        double sloP999Millis,
+        double maxErrorRate,
+        double maxDropRate) {
+
+    /**
+     * Parse arguments such as --rate=200 --durationSeconds=60
+     * @throws IllegalArgumentException for unknown keys or invalid values
+     */
+    public static LoadTestConfig fromArgs(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Arguments must look like --key=value: " + arg);
+            }
+            int separator = arg.indexOf('=');
+            values.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+
+        LoadTestConfig config = new LoadTestConfig(
+                take(values, "baseUrl", "http://localhost:8080"),
+                Double.parseDouble(take(values, "rate", "100")),
+                take(values, "arrival", "poisson"),
+                Integer.parseInt(take(values, "durationSeconds", "60")),
+                Integer.parseInt(take(values, "warmupSeconds", "10")),
+                Integer.parseInt(take(values, "maxInFlight", "1000")),
+                Integer.parseInt(take(values, "readWeight", "70")),
+                Integer.parseInt(take(values, "listWeight", "10")),
+                Integer.parseInt(take(values, "searchWeight", "10")),
+                Integer.parseInt(take(values, "createWeight", "5")),
+                Integer.parseInt(take(values, "updateWeight", "5")),
+                Double.parseDouble(take(values, "zipfExponent", "0.99")),
+                Integer.parseInt(take(values, "seedBooks", "10000")),
+                Long.parseLong(take(values, "seed", "42")),
+                optionalPath(take(values, "recordTrace", null)),
+                optionalPath(take(values, "replayTrace", null)),
+                Double.parseDouble(take(values, "replaySpeed", "1.0")),
+                take(values, "label", "unlabeled"),
+                optionalPath(take(values, "output", null)),
+                Double.parseDouble(take(values, "sloP99Millis", "0")),
+                Double.parseDouble(take(values, "sloP999Millis", "0")),
+                Double.parseDouble(take(values, "maxErrorRate", "0.01")),
+                Double.parseDouble(take(values, "maxDropRate", "0")));
+
+        if (!values.isEmpty()) {
+            throw new IllegalArgumentException("Unknown arguments: " + values.keySet());
+        }
+        config.validate();
+        return config;
+    }
+
+    public int totalWeight() {
+        return readWeight + listWeight + searchWeight + createWeight + updateWeight;
+    }
+
+    // ===============================================
+    // PRIVATE HELPER METHODS
+    // ===============================================
+
+    private void validate() {
+        if (rate <= 0) {
+            throw new IllegalArgumentException("rate must be positive");
+        }
+        if (!arrival.equals("poisson") && !arrival.equals("uniform")) {
+            throw new IllegalArgumentException("arrival must be 'poisson' or 'uniform'");
+        }
+        if (durationSeconds <= 0 || warmupSeconds < 0 || maxInFlight <= 0) {
+            throw new IllegalArgumentException("durationSeconds and maxInFlight must be positive, warmupSeconds not negative");
+        }
+        if (readWeight < 0 || listWeight < 0 || searchWeight < 0 || createWeight < 0 || updateWeight < 0
+                || totalWeight() == 0) {
+            throw new IllegalArgumentException("Weights must not be negative and at least one must be positive");
+        }
+        if (zipfExponent < 0 || seedBooks <= 0 || replaySpeed <= 0) {
+            throw new IllegalArgumentException("zipfExponent must not be negative, seedBooks and replaySpeed must be positive");
+        }
+        if (maxErrorRate < 0 || maxErrorRate > 1 || maxDropRate < 0 || maxDropRate > 1) {
+            throw new IllegalArgumentException("maxErrorRate and maxDropRate must be between 0 and 1");
+        }
+    }
+
+    private static String take(Map<String, String> values, String key, String defaultValue) {
+        String value = values.remove(key);
+        return value == null ? defaultValue : value;
+    }
+
+    private static Path optionalPath(String value) {
+        return value == null || value.isEmpty() ? null : Path.of(value);
+    }
+}
@@ -0,0 +1,173 @@
+package book.tracker.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Summarizes a run per endpoint (throughput, errors, p50/p99/p99.9/max) and
+ * checks it against the configured latency SLOs and error / drop rates
+ * Request counts and percentiles include dropped requests (at the request
+ * timeout), so an overloaded run cannot look fast by shedding load.
+ * The JSON report holds the full configuration next to the results, so runs
+ * of different commits can be compared and diffed field by field.
+ */
+public class LoadTestReport {
+
+    private final LoadTestConfig config;
+    private final String mode;
+    private final long startingBooks;
+    private final Map<String, EndpointStats> stats;
+    private final double measuredSeconds;
+    private final List<String> violations = new ArrayList<>();
+
+    /**
+     * @param startingBooks Books in the backend when the run started, to spot runs on drifted data
+     */
+    public LoadTestReport(LoadTestConfig aConfig, String aMode, long startingBooks,
+                          Map<String, EndpointStats> aStats, long measuredNanos) {
+        this.config = aConfig;
+        this.mode = aMode;
+        this.startingBooks = startingBooks;
+        this.stats = aStats;
+        this.measuredSeconds = measuredNanos / 1e9;
+        checkSlos();
+    }
+
+    public boolean isSloMet() {
+        return violations.isEmpty();
+    }
+
+    /**
+     * Human-readable table
+     */
+    public void print(PrintStream out) {
+        out.printf("%nRun '%s' (%s, %d books, %.1f s measured)%n", config.label(), mode, startingBooks, measuredSeconds);
+        out.printf("%-24s %9s %10s %7s %7s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "req/s", "errors", "dropped", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (EndpointStats endpoint : stats.values()) {
+            Histogram latencies = endpoint.getLatencies();
+            out.printf("%-24s %9d %10.1f %7d %7d %9.2f %9.2f %9.2f %9.2f%n",
+                    endpoint.getEndpoint(),
+                    endpoint.getRequests(),
+                    (endpoint.getRequests() - endpoint.getDropped()) / measuredSeconds,
+                    endpoint.getErrors(),
+                    endpoint.getDropped(),
+                    millis(latencies.getValueAtPercentile(50)),
+                    millis(latencies.getValueAtPercentile(99)),
+                    millis(latencies.getValueAtPercentile(99.9)),
+                    millis(latencies.getMaxValue()));
+        }
+        if (violations.isEmpty()) {
+            out.println("SLOs met");
+        } else {
+            violations.forEach(violation -> out.println("SLO violated: " + violation));
+        }
+    }
+
+    /**
+     * Write the JSON report
+     */
+    public void write(Path target, ObjectMapper objectMapper) throws IOException {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("label", config.label());
+        report.put("finishedAt", Instant.now().toString());
+        report.put("mode", mode);
+        report.put("config", configMap());
+        report.put("startingBooks", startingBooks);
+        report.put("measuredSeconds", measuredSeconds);
+
+        List<Map<String, Object>> endpoints = new ArrayList<>();
+        for (EndpointStats endpoint : stats.values()) {
+            Histogram latencies = endpoint.getLatencies();
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("endpoint", endpoint.getEndpoint());
+            entry.put("requests", endpoint.getRequests());
+            // Requests actually sent; dropped ones count in requests and percentiles only
+            entry.put("throughput", (endpoint.getRequests() - endpoint.getDropped()) / measuredSeconds);
+            entry.put("errors", endpoint.getErrors());
+            entry.put("dropped", endpoint.getDropped());
+            entry.put("p50Millis", millis(latencies.getValueAtPercentile(50)));
+            entry.put("p99Millis", millis(latencies.getValueAtPercentile(99)));
+            entry.put("p999Millis", millis(latencies.getValueAtPercentile(99.9)));
+            entry.put("maxMillis", millis(latencies.getMaxValue()));
+            endpoints.add(entry);
+        }
+        report.put("endpoints", endpoints);
+        report.put("sloMet", isSloMet());
+        report.put("sloViolations", violations);
+
+        objectMapper.writer(SerializationFeature.INDENT_OUTPUT).writeValue(target.toFile(), report);
+    }
+
+    // ===============================================
+    // PRIVATE HELPER METHODS
+    // ===============================================
+
+    private void checkSlos() {
+        for (EndpointStats endpoint : stats.values()) {
+            Histogram latencies = endpoint.getLatencies();
+            long requests = endpoint.getRequests();
+            if (requests == 0) {
+                continue;
+            }
+            double errorRate = (double) endpoint.getErrors() / requests;
+            double dropRate = (double) endpoint.getDropped() / requests;
+            if (errorRate > config.maxErrorRate()) {
+                violations.add(String.format("%s error rate %.2f%% > %.2f%%",
+                        endpoint.getEndpoint(), errorRate * 100, config.maxErrorRate() * 100));
+            }
+            if (dropRate > config.maxDropRate()) {
+                violations.add(String.format("%s drop rate %.2f%% > %.2f%%",
+                        endpoint.getEndpoint(), dropRate * 100, config.maxDropRate() * 100));
+            }
+
+            double p99 = millis(latencies.getValueAtPercentile(99));
+            double p999 = millis(latencies.getValueAtPercentile(99.9));
+            if (config.sloP99Millis() > 0 && p99 > config.sloP99Millis()) {
+                violations.add(String.format("%s p99 %.2f ms > %.2f ms", endpoint.getEndpoint(), p99, config.sloP99Millis()));
+            }
+            if (config.sloP999Millis() > 0 && p999 > config.sloP999Millis()) {
+                violations.add(String.format("%s p99.9 %.2f ms > %.2f ms", endpoint.getEndpoint(), p999, config.sloP999Millis()));
+            }
+        }
+    }
+
+    private Map<String, Object> configMap() {
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("baseUrl", config.baseUrl());
+        values.put("rate", config.rate());
+        values.put("arrival", config.arrival());
+        values.put("durationSeconds", config.durationSeconds());
+        values.put("warmupSeconds", config.warmupSeconds());
+        values.put("maxInFlight", config.maxInFlight());
+        values.put("readWeight", config.readWeight());
+        values.put("listWeight", config.listWeight());
+        values.put("searchWeight", config.searchWeight());
+        values.put("createWeight", config.createWeight());
+        values.put("updateWeight", config.updateWeight());
+        values.put("zipfExponent", config.zipfExponent());
+        values.put("seedBooks", config.seedBooks());
+        values.put("seed", config.seed());
+        values.put("replayTrace", config.replayTrace() == null ? null : config.replayTrace().toString());
+        values.put("replaySpeed", config.replaySpeed());
+        values.put("sloP99Millis", config.sloP99Millis());
+        values.put("sloP999Millis", config.sloP999Millis());
+        values.put("maxErrorRate", config.maxErrorRate());
+        values.put("maxDropRate", config.maxDropRate());
+        return values;
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
@@ -0,0 +1,165 @@
+package book.tracker.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Makes sure the backend holds enough books before a run, collects their IDs
+ * and puts the data back afterwards
+ * Missing books are created through POST /api/books/batch; IDs are read back
+ * through the paginated GET /api/books. The books read back are kept so
+ * restore() can undo the run's updates.
+ */
+public class Seeder {
+
+    private static final int BATCH_SIZE = 500;
+    private static final int PAGE_SIZE = 500;
+
+    private final HttpClient client;
+    private final ObjectMapper objectMapper;
+    private final String baseUrl;
+    // Book ID to its values before the run, as batch update JSON
+    private final Map<Long, String> originals = new HashMap<>();
+
+    public Seeder(HttpClient aClient, ObjectMapper aObjectMapper, String aBaseUrl) {
+        this.client = aClient;
+        this.objectMapper = aObjectMapper;
+        this.baseUrl = aBaseUrl;
+    }
+
+    /**
+     * Create books until at least the target count exists
+     * @return IDs of all books in the backend
+     */
+    public List<Long> ensureBooks(int target, long seed, String runNonce) throws IOException, InterruptedException {
+        long existing = countBooks();
+        Random random = new Random(seed);
+
+        for (long created = existing; created < target; ) {
+            int batch = (int) Math.min(BATCH_SIZE, target - created);
+            ArrayNode operations = objectMapper.createArrayNode();
+            for (int i = 0; i < batch; i++) {
+                ObjectNode book = objectMapper.createObjectNode()
+                        .put("title", "Seed " + runNonce + "-" + (created + i) + " "
+                                + Workload.SEARCH_WORDS.get(random.nextInt(Workload.SEARCH_WORDS.size())))
+                        .put("author", "Seed Author " + random.nextInt(1000))
+                        .put("publishedDate", LocalDate.of(1900, 1, 1).plusDays(random.nextInt(120 * 365)).toString())
+                        .put("genre", "Seed");
+                operations.addObject().put("op", "create").set("book", book);
+            }
+
+            sendBatch(operations, "Seeding");
+            created += batch;
+        }
+
+        return loadIds();
+    }
+
+    /**
+     * Number of books in the backend when the IDs were loaded, i.e. at the start of the run
+     */
+    public int getBookCount() {
+        return originals.size();
+    }
+
+    /**
+     * Undo a run's writes: delete the books it created and put the loaded values
+     * back into the books it updated, so the next run starts from the same data
+     * Both are found by the run nonce in their titles, which also catches writes
+     * whose response timed out.
+     * @return Number of books deleted or reset
+     */
+    public int restore(String runNonce) throws IOException, InterruptedException {
+        HttpResponse<String> response = send(HttpRequest.newBuilder(
+                URI.create(baseUrl + "/api/books?search=" + runNonce)).GET().build());
+        if (response.statusCode() != 200) {
+            throw new IOException("Finding the run's books failed with HTTP " + response.statusCode());
+        }
+
+        List<ObjectNode> operations = new ArrayList<>();
+        for (JsonNode book : objectMapper.readTree(response.body())) {
+            long id = book.get("id").asLong();
+            String title = book.get("title").asText();
+            if (title.startsWith(Workload.CREATED_TITLE + runNonce + "-")) {
+                operations.add(objectMapper.createObjectNode().put("op", "delete").put("id", id));
+            } else if (title.startsWith(Workload.UPDATED_TITLE + runNonce + "-") && originals.containsKey(id)) {
+                ObjectNode update = objectMapper.createObjectNode().put("op", "update").put("id", id);
+                update.set("book", objectMapper.readTree(originals.get(id)));
+                operations.add(update);
+            }
+        }
+
+        for (int start = 0; start < operations.size(); start += BATCH_SIZE) {
+            ArrayNode batch = objectMapper.createArrayNode();
+            batch.addAll(operations.subList(start, Math.min(operations.size(), start + BATCH_SIZE)));
+            sendBatch(batch, "Restoring");
+        }
+        return operations.size();
+    }
+
+    // ===============================================
+    // PRIVATE HELPER METHODS
+    // ===============================================
+
+    private long countBooks() throws IOException, InterruptedException {
+        HttpResponse<String> response = send(HttpRequest.newBuilder(
+                URI.create(baseUrl + "/api/books?page=0&size=1&count=true")).GET().build());
+        if (response.statusCode() != 200) {
+            throw new IOException("Counting books failed with HTTP " + response.statusCode());
+        }
+        return response.headers().firstValueAsLong("X-Total-Count").orElse(0);
+    }
+
+    private List<Long> loadIds() throws IOException, InterruptedException {
+        List<Long> ids = new ArrayList<>();
+        originals.clear();
+        long afterId = 0;
+        while (true) {
+            HttpResponse<String> response = send(HttpRequest.newBuilder(
+                    URI.create(baseUrl + "/api/books?afterId=" + afterId + "&size=" + PAGE_SIZE)).GET().build());
+            if (response.statusCode() != 200) {
+                throw new IOException("Loading book IDs failed with HTTP " + response.statusCode());
+            }
+
+            JsonNode books = objectMapper.readTree(response.body());
+            for (JsonNode book : books) {
+                afterId = book.get("id").asLong();
+                ids.add(afterId);
+                ObjectNode original = ((ObjectNode) book).deepCopy();
+                original.remove("id");
+                originals.put(afterId, objectMapper.writeValueAsString(original));
+            }
+            if (books.size() < PAGE_SIZE) {
+                return ids;
+            }
+        }
+    }
+
+    private void sendBatch(ArrayNode operations, String action) throws IOException, InterruptedException {
+        HttpResponse<String> response = send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/books/batch"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(operations)))
+                .build());
+        if (response.statusCode() != 200) {
+            throw new IOException(action + " failed with HTTP " + response.statusCode() + ": " + response.body());
+        }
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -0,0 +1,172 @@
+package book.tracker.loadtest;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+
+/**
+ * Recorded workload traces: one tab-separated request per line
+ *
+ *   offsetMicros  endpoint  method  path  body
+ *
+ * The body column is "-" when there is none. Lines starting with '#' are
+ * comments. Traces can be recorded from a generated run (--recordTrace) or
+ * written by hand / converted from access logs, then replayed (--replayTrace).
+ *
+ * Recorded traces refer to books by rank (%ID:rank%) and start with a
+ * settings comment holding the seed and seedBooks they were generated with:
+ *
+ *   # trace seed=42 seedBooks=10000
+ *
+ * Replay seeds the backend with those settings before sending anything, so
+ * every rank resolves to the same book as in the recorded run.
+ */
+public final class TraceFile {
+
+    private static final String NO_BODY = "-";
+    private static final String SETTINGS_PREFIX = "# trace ";
+
+    private TraceFile() {
+    }
+
+    /**
+     * Pass requests through while appending each one to a trace file
+     */
+    public static final class Recorder implements Iterator<LoadRequest>, Closeable {
+        private final Iterator<LoadRequest> source;
+        private final BufferedWriter writer;
+
+        public Recorder(Iterator<LoadRequest> aSource, Path target, long seed, int seedBooks) throws IOException {
+            this.source = aSource;
+            this.writer = Files.newBufferedWriter(target, StandardCharsets.UTF_8);
+            this.writer.write(SETTINGS_PREFIX + "seed=" + seed + " seedBooks=" + seedBooks);
+            this.writer.newLine();
+            this.writer.write("# offsetMicros\tendpoint\tmethod\tpath\tbody");
+            this.writer.newLine();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return source.hasNext();
+        }
+
+        @Override
+        public LoadRequest next() {
+            LoadRequest request = source.next();
+            try {
+                writer.write(request.offsetNanos() / 1_000 + "\t" + request.endpoint() + "\t" + request.method()
+                        + "\t" + request.path() + "\t" + (request.body() == null ? NO_BODY : request.body()));
+                writer.newLine();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return request;
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.close();
+        }
+    }
+
+    /**
+     * Read requests back, compressing or stretching time by the replay speed
+     */
+    public static final class Replay implements Iterator<LoadRequest>, Closeable {
+        private final BufferedReader reader;
+        private final double speed;
+        private final Map<String, String> settings = new HashMap<>();
+        private LoadRequest next;
+        private int lineNumber;
+
+        public Replay(Path source, double aSpeed) throws IOException {
+            this.reader = Files.newBufferedReader(source, StandardCharsets.UTF_8);
+            this.speed = aSpeed;
+            advance();
+        }
+
+        /**
+         * Seed the trace was recorded with, if it has a settings comment
+         */
+        public OptionalLong getSeed() {
+            String value = settings.get("seed");
+            return value == null ? OptionalLong.empty() : OptionalLong.of(Long.parseLong(value));
+        }
+
+        /**
+         * Number of seeded books the trace's ranks refer to, if it has a settings comment
+         */
+        public OptionalInt getSeedBooks() {
+            String value = settings.get("seedBooks");
+            return value == null ? OptionalInt.empty() : OptionalInt.of(Integer.parseInt(value));
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public LoadRequest next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            LoadRequest current = next;
+            advance();
+            return current;
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+
+        private void advance() {
+            try {
+                String line;
+                do {
+                    line = reader.readLine();
+                    lineNumber++;
+                    if (line != null && line.startsWith(SETTINGS_PREFIX)) {
+                        parseSettings(line.substring(SETTINGS_PREFIX.length()));
+                    }
+                } while (line != null && (line.isBlank() || line.startsWith("#")));
+
+                if (line == null) {
+                    next = null;
+                    return;
+                }
+
+                String[] columns = line.split("\t", 5);
+                if (columns.length != 5) {
+                    throw new IllegalArgumentException("Trace line " + lineNumber + " must have 5 tab-separated columns");
+                }
+                long offsetNanos = Math.round(Long.parseLong(columns[0]) * 1_000 / speed);
+                next = new LoadRequest(offsetNanos, columns[1], columns[2], columns[3],
+                        NO_BODY.equals(columns[4]) ? null : columns[4]);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private void parseSettings(String text) {
+            for (String setting : text.trim().split("\\s+")) {
+                int separator = setting.indexOf('=');
+                if (separator > 0) {
+                    settings.put(setting.substring(0, separator), setting.substring(separator + 1));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package book.tracker.loadtest;
+
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+/**
+ * Generates an open-loop request sequence: arrival times follow the configured
+ * rate, the operation follows the read/list/search/create/update weights and
+ * books and search terms follow a Zipfian popularity distribution.
+ * Books are referred to by popularity rank (see KeySpace), so a recorded trace
+ * does not depend on the IDs of the database it was generated against.
+ * Requests are produced lazily, so memory use does not depend on run length.
+ */
+public class Workload implements Iterator<LoadRequest> {
+
+    /** Words used in seeded titles, and therefore as search terms */
+    static final List<String> SEARCH_WORDS = List.of(
+            "river", "winter", "shadow", "garden", "empire",
+            "silent", "ocean", "glass", "iron", "paper");
+
+    /** Title prefixes of created and updated books, followed by the run nonce (see Seeder.restore) */
+    static final String CREATED_TITLE = "Load Test ";
+    static final String UPDATED_TITLE = "Updated ";
+
+    private static final int LIST_PAGE_SIZE = 50;
+
+    private static final List<String> GENRES = List.of(
+            "Fiction", "Non-Fiction", "Biography", "Science Fiction", "Fantasy", "History");
+
+    private final LoadTestConfig config;
+    private final Random random;
+    private final ZipfianGenerator idPopularity;
+    private final ZipfianGenerator pagePopularity;
+    private final ZipfianGenerator wordPopularity;
+    private final long endNanos;
+
+    private long nextOffsetNanos;
+    private long counter;
+
+    /**
+     * @param config Rate, mix, skew and seed
+     * @param keyCount Number of existing books to read and update (the key space size)
+     */
+    public Workload(LoadTestConfig config, int keyCount) {
+        if (keyCount <= 0) {
+            throw new IllegalArgumentException("Workload needs at least one existing book");
+        }
+        this.config = config;
+        this.random = new Random(config.seed());
+
+        this.idPopularity = new ZipfianGenerator(keyCount, config.zipfExponent());
+        this.pagePopularity = new ZipfianGenerator(Math.max(1, keyCount / LIST_PAGE_SIZE), config.zipfExponent());
+        this.wordPopularity = new ZipfianGenerator(SEARCH_WORDS.size(), config.zipfExponent());
+        this.endNanos = (config.warmupSeconds() + (long) config.durationSeconds()) * 1_000_000_000L;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return nextOffsetNanos < endNanos;
+    }
+
+    @Override
+    public LoadRequest next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        long offset = nextOffsetNanos;
+        nextOffsetNanos += nextGapNanos();
+        counter++;
+
+        int choice = random.nextInt(config.totalWeight());
+        if ((choice -= config.readWeight()) < 0) {
+            return new LoadRequest(offset, "GET /api/books/{id}", "GET", "/api/books/" + nextBook(), null);
+        }
+        if ((choice -= config.listWeight()) < 0) {
+            // Early pages are the most viewed, like a list scrolled from the top
+            int page = pagePopularity.next(random);
+            return new LoadRequest(offset, "GET /api/books?page", "GET",
+                    "/api/books?page=" + page + "&size=" + LIST_PAGE_SIZE, null);
+        }
+        if ((choice -= config.searchWeight()) < 0) {
+            String word = SEARCH_WORDS.get(wordPopularity.next(random));
+            return new LoadRequest(offset, "GET /api/books?search", "GET", "/api/books?search=" + word, null);
+        }
+        if ((choice -= config.createWeight()) < 0) {
+            return new LoadRequest(offset, "POST /api/books", "POST", "/api/books",
+                    bookJson(CREATED_TITLE + LoadRequest.RUN_PLACEHOLDER + "-" + counter));
+        }
+        return new LoadRequest(offset, "PUT /api/books/{id}", "PUT", "/api/books/" + nextBook(),
+                bookJson(UPDATED_TITLE + LoadRequest.RUN_PLACEHOLDER + "-" + counter));
+    }
+
+    // ===============================================
+    // PRIVATE HELPER METHODS
+    // ===============================================
+
+    private String nextBook() {
+        return LoadRequest.idPlaceholder(idPopularity.next(random));
+    }
+
+    /**
+     * Fixed gaps for "uniform", exponential gaps (a Poisson process) for "poisson"
+     */
+    private long nextGapNanos() {
+        double meanGapNanos = 1_000_000_000.0 / config.rate();
+        if (config.arrival().equals("uniform")) {
+            return Math.max(1, Math.round(meanGapNanos));
+        }
+        return Math.max(1, Math.round(-Math.log(1.0 - random.nextDouble()) * meanGapNanos));
+    }
+
+    /**
+     * Book JSON with only generated ASCII text, so no escaping is needed
+     */
+    private String bookJson(String title) {
+        LocalDate published = LocalDate.of(1900, 1, 1).plusDays(random.nextInt(120 * 365));
+        return "{\"title\":\"" + title + " " + SEARCH_WORDS.get(wordPopularity.next(random)) + "\"," +
+                "\"author\":\"Load Author " + random.nextInt(500) + "\"," +
+                "\"publishedDate\":\"" + published + "\"," +
+                "\"genre\":\"" + GENRES.get(random.nextInt(GENRES.size())) + "\"}";
+    }
+}
@@ -0,0 +1,51 @@
+package book.tracker.loadtest;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class KeySpaceTest {
+
+    @Test
+    void testUsesLowestIdsWhateverTheirOrder() {
+        // Books 100 and 101 were created by earlier runs, after seeding
+        KeySpace keySpace = new KeySpace(List.of(101L, 3L, 100L, 1L, 2L), 3, 42);
+
+        assertThat(keySpace.size()).isEqualTo(3);
+        assertThat(List.of(keySpace.idAt(0), keySpace.idAt(1), keySpace.idAt(2)))
+                .containsExactlyInAnyOrder(1L, 2L, 3L);
+    }
+
+    @Test
+    void testSameSeedGivesSameRanking() {
+        KeySpace first = new KeySpace(List.of(5L, 6L, 7L, 8L, 9L), 5, 7);
+        KeySpace second = new KeySpace(List.of(9L, 8L, 7L, 6L, 5L), 5, 7);
+
+        for (int rank = 0; rank < 5; rank++) {
+            assertThat(second.idAt(rank)).isEqualTo(first.idAt(rank));
+        }
+    }
+
+    @Test
+    void testResolvesPlaceholders() {
+        KeySpace keySpace = new KeySpace(List.of(10L, 20L), 2, 1);
+        String path = "/api/books/" + LoadRequest.idPlaceholder(1) + "?other=" + LoadRequest.idPlaceholder(0);
+
+        assertThat(keySpace.resolve(path))
+                .isEqualTo("/api/books/" + keySpace.idAt(1) + "?other=" + keySpace.idAt(0));
+        assertThat(keySpace.resolve("/api/books/123")).isEqualTo("/api/books/123");
+    }
+
+    @Test
+    void testRejectsUnknownRanksAndTooFewBooks() {
+        KeySpace keySpace = new KeySpace(List.of(10L, 20L), 2, 1);
+
+        assertThatThrownBy(() -> keySpace.resolve("/api/books/" + LoadRequest.idPlaceholder(2)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new KeySpace(List.of(10L), 2, 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,78 @@
+package book.tracker.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LoadTestReportTest {
+
+    private static final long ONE_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long TIMEOUT = TimeUnit.SECONDS.toNanos(30);
+
+    @Test
+    void testFastRunWithoutErrorsMeetsSlos() {
+        EndpointStats stats = new EndpointStats("GET /api/books/{id}");
+        for (int i = 0; i < 1000; i++) {
+            stats.record(ONE_MILLI, false);
+        }
+
+        assertThat(report(stats, "--sloP99Millis=10").isSloMet()).isTrue();
+    }
+
+    @Test
+    void testErrorRateAboveLimitFails() {
+        EndpointStats stats = new EndpointStats("GET /api/books/{id}");
+        for (int i = 0; i < 1000; i++) {
+            stats.record(ONE_MILLI, i < 20);
+        }
+
+        // Fast errors must not pass just because they are fast
+        assertThat(report(stats, "--sloP99Millis=10").isSloMet()).isFalse();
+        assertThat(report(stats, "--sloP99Millis=10", "--maxErrorRate=0.05").isSloMet()).isTrue();
+    }
+
+    @Test
+    void testDroppedRequestsCountAsTimeouts() {
+        EndpointStats stats = new EndpointStats("GET /api/books/{id}");
+        for (int i = 0; i < 990; i++) {
+            stats.record(ONE_MILLI, false);
+        }
+        for (int i = 0; i < 10; i++) {
+            stats.recordDropped(TIMEOUT);
+        }
+
+        assertThat(stats.getRequests()).isEqualTo(1000);
+        assertThat(stats.getLatencies().getValueAtPercentile(99.9)).isGreaterThanOrEqualTo(TimeUnit.SECONDS.toMicros(29));
+
+        // Drops alone fail the default run, and push p99.9 over a latency SLO
+        assertThat(report(stats).isSloMet()).isFalse();
+        assertThat(report(stats, "--maxDropRate=0.05").isSloMet()).isTrue();
+        assertThat(report(stats, "--maxDropRate=0.05", "--sloP999Millis=100").isSloMet()).isFalse();
+    }
+
+    @Test
+    void testJsonReportRecordsStartingBookCount(@TempDir Path directory) throws Exception {
+        EndpointStats stats = new EndpointStats("GET /api/books/{id}");
+        stats.record(ONE_MILLI, false);
+        Path target = directory.resolve("report.json");
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        report(stats).write(target, objectMapper);
+
+        JsonNode json = objectMapper.readTree(target.toFile());
+        assertThat(json.get("startingBooks").asLong()).isEqualTo(1000);
+        assertThat(json.get("endpoints").get(0).get("requests").asLong()).isEqualTo(1);
+    }
+
+    private static LoadTestReport report(EndpointStats stats, String... args) {
+        LoadTestConfig config = LoadTestConfig.fromArgs(args);
+        return new LoadTestReport(config, "test", 1000, Map.of(stats.getEndpoint(), stats), TimeUnit.SECONDS.toNanos(10));
+    }
+}
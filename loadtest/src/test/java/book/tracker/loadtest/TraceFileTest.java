@@ -0,0 +1,59 @@
+package book.tracker.loadtest;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TraceFileTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testRecordAndReplayRoundTrip() throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromArgs(new String[]{"--durationSeconds=1", "--warmupSeconds=0", "--seed=7"});
+        Path trace = tempDir.resolve("trace.tsv");
+
+        List<LoadRequest> recorded = new ArrayList<>();
+        try (TraceFile.Recorder recorder = new TraceFile.Recorder(new Workload(config, 200), trace, 7, 200)) {
+            recorder.forEachRemaining(recorded::add);
+        }
+
+        List<LoadRequest> replayed = new ArrayList<>();
+        try (TraceFile.Replay replay = new TraceFile.Replay(trace, 1.0)) {
+            assertThat(replay.getSeed()).hasValue(7);
+            assertThat(replay.getSeedBooks()).hasValue(200);
+            replay.forEachRemaining(replayed::add);
+        }
+
+        // Offsets are stored in microseconds; everything else must match exactly
+        assertThat(replayed).hasSameSizeAs(recorded);
+        for (int i = 0; i < recorded.size(); i++) {
+            LoadRequest expected = recorded.get(i);
+            assertThat(replayed.get(i)).isEqualTo(new LoadRequest(expected.offsetNanos() / 1_000 * 1_000,
+                    expected.endpoint(), expected.method(), expected.path(), expected.body()));
+        }
+
+        // Books are stored by rank, never by ID
+        assertThat(Files.readString(trace)).contains("/api/books/" + LoadRequest.ID_PLACEHOLDER);
+    }
+
+    @Test
+    void testHandWrittenTraceHasNoSettings() throws Exception {
+        Path trace = tempDir.resolve("manual.tsv");
+        Files.writeString(trace, "# from an access log\n1000\tGET /api/books/{id}\tGET\t/api/books/5\t-\n");
+
+        try (TraceFile.Replay replay = new TraceFile.Replay(trace, 2.0)) {
+            assertThat(replay.getSeed()).isEmpty();
+            assertThat(replay.getSeedBooks()).isEmpty();
+            assertThat(replay.next()).isEqualTo(new LoadRequest(500_000, "GET /api/books/{id}", "GET", "/api/books/5", null));
+            assertThat(replay.hasNext()).isFalse();
+        }
+    }
+}
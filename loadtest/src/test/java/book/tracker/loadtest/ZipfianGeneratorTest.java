@@ -0,0 +1,50 @@
+package book.tracker.loadtest;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ZipfianGeneratorTest {
+
+    @Test
+    void testRanksStayInRange() {
+        ZipfianGenerator generator = new ZipfianGenerator(10, 0.99);
+        Random random = new Random(1);
+
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(generator.next(random)).isBetween(0, 9);
+        }
+    }
+
+    @Test
+    void testLowRanksAreMostPopular() {
+        ZipfianGenerator generator = new ZipfianGenerator(1000, 0.99);
+        Random random = new Random(1);
+
+        // Draw many ranks and count them
+        int[] counts = new int[1000];
+        for (int i = 0; i < 100_000; i++) {
+            counts[generator.next(random)]++;
+        }
+
+        assertThat(counts[0]).isGreaterThan(counts[1]);
+        assertThat(counts[1]).isGreaterThan(counts[100]);
+    }
+
+    @Test
+    void testZeroExponentIsUniform() {
+        ZipfianGenerator generator = new ZipfianGenerator(4, 0);
+        Random random = new Random(1);
+
+        int[] counts = new int[4];
+        for (int i = 0; i < 40_000; i++) {
+            counts[generator.next(random)]++;
+        }
+
+        for (int count : counts) {
+            assertThat(count).isBetween(9_000, 11_000);
+        }
+    }
+}
@@ -196,6 +196,15 @@ spring.jpa.hibernate.ddl-auto=update
 spring.jpa.show-sql=true
 spring.jpa.properties.hibernate.format_sql=true
 spring.jpa.database-platform=org.hibernate.dialect.PostgreSQLDialect
+
+# JDBC batching (used by POST /api/books/batch)
+spring.jpa.properties.hibernate.jdbc.batch_size=50
+spring.jpa.properties.hibernate.order_updates=true
+spring.jpa.properties.hibernate.order_inserts=true
+
+# JFR recording endpoints (/api/profiling/recording); unauthenticated, so keep off
+# unless the port is only reachable by operators
+book.profiling.enabled=false
 EOF
 
 print_status "Database configuration updated"